@@ -0,0 +1,43 @@
+package net.claves.games.sudokuma.benchmarks;
+
+import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.io.SudokuFormat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Corpus {
+    private Corpus() {
+    }
+
+    public static List<String> lines(String name) throws IOException {
+        InputStream inputStream = Corpus.class.getResourceAsStream("/corpora/" + name + ".txt");
+        if (inputStream == null) {
+            throw new IllegalArgumentException("Unknown corpus " + name + ".");
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.US_ASCII))) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                line = line.trim();
+                if (!line.isEmpty() && line.charAt(0) != '#') {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines;
+    }
+
+    public static SudokuGrid[] puzzles(String name) throws IOException {
+        List<String> lines = lines(name);
+        SudokuGrid[] puzzles = new SudokuGrid[lines.size()];
+        for (int index = 0; index < puzzles.length; index++) {
+            puzzles[index] = SudokuFormat.parse(lines.get(index));
+        }
+        return puzzles;
+    }
+}
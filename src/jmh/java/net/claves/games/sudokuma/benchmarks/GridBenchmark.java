@@ -0,0 +1,55 @@
+package net.claves.games.sudokuma.benchmarks;
+
+import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.io.SudokuFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GridBenchmark {
+    @Param({"easy", "16x16"})
+    private String corpus;
+
+    private String line;
+    private SudokuGrid puzzle;
+    private SudokuGrid solution;
+
+    @Setup
+    public void setUp() throws IOException {
+        line = Corpus.lines(corpus).get(0);
+        puzzle = SudokuFormat.parse(line);
+        solution = puzzle.copy().solve();
+    }
+
+    @Benchmark
+    public SudokuGrid copy() {
+        return puzzle.copy();
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return solution.isValid();
+    }
+
+    @Benchmark
+    public SudokuGrid parse() {
+        return SudokuFormat.parse(line);
+    }
+}
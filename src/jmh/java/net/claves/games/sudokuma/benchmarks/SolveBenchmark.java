@@ -0,0 +1,53 @@
+package net.claves.games.sudokuma.benchmarks;
+
+import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.solvers.SudokuSolverImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolveBenchmark {
+    @Param({"easy", "hard", "17-clue", "16x16"})
+    private String corpus;
+
+    private SudokuGrid[] puzzles;
+    private SudokuSolverImpl solver;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        puzzles = Corpus.puzzles(corpus);
+        solver = new SudokuSolverImpl();
+    }
+
+    @Benchmark
+    public SudokuGrid solve() {
+        SudokuGrid puzzle = puzzles[next];
+        next = (next + 1) % puzzles.length;
+        return solver.solve(puzzle.copy());
+    }
+
+    @Benchmark
+    public SudokuGrid solveWithDefaultSolver() {
+        SudokuGrid puzzle = puzzles[next];
+        next = (next + 1) % puzzles.length;
+        return puzzle.solve();
+    }
+}
@@ -1,11 +1,15 @@
 package net.claves.games;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
 
 public abstract class Grid<T> implements Iterable<Grid.Item>{
     private Item[][] itemsByRow;
     private Item[][] itemsByColumn;
     private final int size;
+    private final List<Listener<T>> listeners = new ArrayList<>();
 
     public Grid(int size) {
         this.size = size;
@@ -16,6 +20,25 @@ public abstract class Grid<T> implements Iterable<Grid.Item>{
     protected void clear() {
         itemsByRow = new Item[size][size];
         itemsByColumn = new Item[size][size];
+        for (Listener<T> listener : listeners) {
+            listener.cleared();
+        }
+    }
+
+    public void addListener(Listener<T> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    private void fireItemChanged(Item<T> item, T oldValue, T newValue) {
+        if (!listeners.isEmpty() && !Objects.equals(oldValue, newValue)) {
+            for (int index = 0; index < listeners.size(); index++) {
+                listeners.get(index).itemChanged(item, oldValue, newValue);
+            }
+        }
     }
 
     @Override
@@ -29,9 +52,16 @@ public abstract class Grid<T> implements Iterable<Grid.Item>{
         if (position.x >= size || position.y >= size || position.x < 0 || position.y < 0) {
             throw new IllegalArgumentException("Invalid position.");
         }
+        Item<T> oldItem = itemsByRow[position.x][position.y];
         itemsByRow[position.x][position.y] = gridItem;
         itemsByColumn[position.y][position.x] = gridItem;
 
+        if (oldItem != null && oldItem != gridItem && oldItem.grid == this) {
+            oldItem.grid = null;
+        }
+        gridItem.grid = this;
+        fireItemChanged(gridItem, oldItem == null ? null : oldItem.getValue(), gridItem.getValue());
+
         return gridItem;
     }
 
@@ -44,7 +74,28 @@ public abstract class Grid<T> implements Iterable<Grid.Item>{
     }
 
     public Item<T> get(int x, int y) {
-        return get(new Position(x, y));
+        Item<T> item = itemsByRow[x][y];
+        if (item == null) {
+            Position position = Position.of(x, y);
+            return put(position, createEmptyItem(position));
+        }
+        return item;
+    }
+
+    public Item<T> get(int cell) {
+        return get(cell / size, cell % size);
+    }
+
+    public Item<T> put(int cell, Item<T> gridItem) {
+        return put(getPosition(cell), gridItem);
+    }
+
+    public void forEachCell(CellVisitor<T> visitor) {
+        for (int x = 0, cell = 0; x < size; x++) {
+            for (int y = 0; y < size; y++, cell++) {
+                visitor.visit(cell, get(x, y));
+            }
+        }
     }
 
     protected Item remove(Position position) {
@@ -57,6 +108,18 @@ public abstract class Grid<T> implements Iterable<Grid.Item>{
         return size;
     }
 
+    public int getCellCount() {
+        return size * size;
+    }
+
+    public int cell(int x, int y) {
+        return x * size + y;
+    }
+
+    public Position getPosition(int cell) {
+        return Position.of(cell / size, cell % size);
+    }
+
     public Item[] getRow(int row) {
         return itemsByRow[row];
     }
@@ -99,9 +162,20 @@ public abstract class Grid<T> implements Iterable<Grid.Item>{
         return hashCode;
     }
 
+    public interface Listener<T> {
+        void itemChanged(Item<T> item, T oldValue, T newValue);
+
+        void cleared();
+    }
+
+    public interface CellVisitor<T> {
+        void visit(int cell, Item<T> item);
+    }
+
     public static class Item<T> {
         private T value;
         private Position position;
+        private Grid<T> grid;
 
         public Item(T value, Position position) {
             this.value = value;
@@ -113,7 +187,11 @@ public abstract class Grid<T> implements Iterable<Grid.Item>{
         }
 
         public void setValue(T value) {
+            T oldValue = this.value;
             this.value = value;
+            if (grid != null) {
+                grid.fireItemChanged(this, oldValue, value);
+            }
         }
 
         public int getRowIndex() {
@@ -1,6 +1,16 @@
 package net.claves.games;
 
 public class Position {
+    public static final int CACHE_SIZE = 64;
+
+    private static final Position[] CACHE = new Position[CACHE_SIZE * CACHE_SIZE];
+
+    static {
+        for (int index = 0; index < CACHE.length; index++) {
+            CACHE[index] = new Position(index / CACHE_SIZE, index % CACHE_SIZE);
+        }
+    }
+
     public final int x;
     public final int y;
 
@@ -9,6 +19,13 @@ public class Position {
         this.y = y;
     }
 
+    public static Position of(int x, int y) {
+        if (x >= 0 && y >= 0 && x < CACHE_SIZE && y < CACHE_SIZE) {
+            return CACHE[x * CACHE_SIZE + y];
+        }
+        return new Position(x, y);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
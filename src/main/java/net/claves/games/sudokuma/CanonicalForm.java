@@ -0,0 +1,24 @@
+package net.claves.games.sudokuma;
+
+public class CanonicalForm {
+    private final String key;
+    private final SudokuTransform transform;
+
+    public CanonicalForm(String key, SudokuTransform transform) {
+        this.key = key;
+        this.transform = transform;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public SudokuTransform getTransform() {
+        return transform;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
@@ -0,0 +1,173 @@
+package net.claves.games.sudokuma;
+
+import net.claves.games.Grid;
+
+import java.util.Arrays;
+
+public final class CompactSudokuGrid {
+    public static final int MAX_SIZE = Byte.MAX_VALUE;
+
+    private static final int GIVEN = 0x80;
+    private static final int VALUE = 0x7F;
+
+    private final SudokuTopology topology;
+    private final byte[] cells;
+
+    public CompactSudokuGrid(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("The size must be between 1 and " + MAX_SIZE + ".");
+        }
+        this.topology = SudokuTopology.forSize(size);
+        this.cells = new byte[size * size];
+    }
+
+    private CompactSudokuGrid(CompactSudokuGrid compactGrid) {
+        this.topology = compactGrid.topology;
+        this.cells = compactGrid.cells.clone();
+    }
+
+    public static CompactSudokuGrid of(SudokuGrid sudokuGrid) {
+        int size = sudokuGrid.getSize();
+        CompactSudokuGrid compactGrid = new CompactSudokuGrid(size);
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                Grid.Item<Integer> item = sudokuGrid.get(row, column);
+                Integer value = item.getValue();
+                if (value != null) {
+                    int flags = item instanceof SudokuGrid.GivenItem ? GIVEN : 0;
+                    compactGrid.cells[row * size + column] = (byte) (value | flags);
+                }
+            }
+        }
+        return compactGrid;
+    }
+
+    public SudokuGrid toSudokuGrid() {
+        int size = getSize();
+        SudokuGrid sudokuGrid = new SudokuGrid(size);
+        for (int cell = 0; cell < cells.length; cell++) {
+            int value = get(cell);
+            if (value == 0) {
+                sudokuGrid.get(cell);
+            } else if (isGiven(cell)) {
+                sudokuGrid.put(cell, new SudokuGrid.GivenItem(value, sudokuGrid.getPosition(cell)));
+            } else {
+                ((SudokuGrid.VariableItem) sudokuGrid.get(cell)).solve(value);
+            }
+        }
+        return sudokuGrid;
+    }
+
+    public SudokuTopology getTopology() {
+        return topology;
+    }
+
+    public int getSize() {
+        return topology.getSize();
+    }
+
+    public int getCellCount() {
+        return cells.length;
+    }
+
+    public int get(int cell) {
+        return cells[cell] & VALUE;
+    }
+
+    public int get(int row, int column) {
+        return get(topology.cell(row, column));
+    }
+
+    public boolean isGiven(int cell) {
+        return (cells[cell] & GIVEN) != 0;
+    }
+
+    public boolean isEmpty(int cell) {
+        return cells[cell] == 0;
+    }
+
+    public void set(int cell, int value) {
+        if (isGiven(cell)) {
+            throw new UnsupportedOperationException("The value is final for given items.");
+        }
+        cells[cell] = (byte) checkValue(value);
+    }
+
+    public void setGiven(int cell, int value) {
+        cells[cell] = (byte) (value == 0 ? 0 : checkValue(value) | GIVEN);
+    }
+
+    public void clear(int cell) {
+        cells[cell] = 0;
+    }
+
+    private int checkValue(int value) {
+        if (value < 0 || value > getSize()) {
+            throw new IllegalArgumentException("Value " + value + " is out of range.");
+        }
+        return value;
+    }
+
+    public int getGivenCount() {
+        int count = 0;
+        for (byte cell : cells) {
+            if ((cell & GIVEN) != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean isComplete() {
+        for (byte cell : cells) {
+            if (cell == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isConsistent() {
+        int size = getSize();
+        boolean[] seen = new boolean[size + 1];
+        for (int unit = 0; unit < topology.getUnitCount(); unit++) {
+            Arrays.fill(seen, false);
+            for (int cell : topology.getUnitCells(unit)) {
+                int value = get(cell);
+                if (value != 0) {
+                    if (seen[value]) {
+                        return false;
+                    }
+                    seen[value] = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    public CompactSudokuGrid copy() {
+        return new CompactSudokuGrid(this);
+    }
+
+    public void copyFrom(CompactSudokuGrid compactGrid) {
+        if (compactGrid.topology != topology) {
+            throw new IllegalArgumentException("The grids must have the same size.");
+        }
+        System.arraycopy(compactGrid.cells, 0, cells, 0, cells.length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        CompactSudokuGrid that = (CompactSudokuGrid) o;
+
+        return Arrays.equals(cells, that.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(cells);
+    }
+}
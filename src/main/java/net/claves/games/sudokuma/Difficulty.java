@@ -0,0 +1,24 @@
+package net.claves.games.sudokuma;
+
+import net.claves.games.sudokuma.validators.GivenCountValidator;
+
+public enum Difficulty {
+    EASY(0.45),
+    MEDIUM(0.38),
+    HARD(0.32),
+    EXPERT(0);
+
+    private final double clueRatio;
+
+    Difficulty(double clueRatio) {
+        this.clueRatio = clueRatio;
+    }
+
+    public double getClueRatio() {
+        return clueRatio;
+    }
+
+    public int getTargetClueCount(int size) {
+        return Math.max((int) Math.round(clueRatio * size * size), GivenCountValidator.getMinimumGivenCount(size));
+    }
+}
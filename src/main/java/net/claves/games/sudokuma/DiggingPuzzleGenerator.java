@@ -0,0 +1,41 @@
+package net.claves.games.sudokuma;
+
+import java.util.Random;
+
+public class DiggingPuzzleGenerator implements PuzzleGenerator {
+    private Random random;
+    private PuzzleDigger.Symmetry symmetry = PuzzleDigger.Symmetry.NONE;
+
+    public DiggingPuzzleGenerator() {
+        this(new Random());
+    }
+
+    public DiggingPuzzleGenerator(Random random) {
+        this.random = random;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    public PuzzleDigger.Symmetry getSymmetry() {
+        return symmetry;
+    }
+
+    public void setSymmetry(PuzzleDigger.Symmetry symmetry) {
+        this.symmetry = symmetry;
+    }
+
+    @Override
+    public SudokuGrid generate(int size, Difficulty difficulty) {
+        SudokuGrid solution = new SolutionGridGenerator(size, random).generate();
+        PuzzleDigger puzzleDigger = new PuzzleDigger(random);
+        puzzleDigger.setSymmetry(symmetry);
+        puzzleDigger.setTargetClueCount(difficulty.getTargetClueCount(size));
+        return puzzleDigger.dig(solution);
+    }
+}
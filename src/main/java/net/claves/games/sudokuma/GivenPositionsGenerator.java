@@ -29,10 +29,10 @@ public class GivenPositionsGenerator implements PositionsGenerator {
     private Position getRandomSudokuPosition() {
         int x = (((int) (Math.random() * 1000)) % sudokuSize);
         int y = (((int) (Math.random() * 1000)) % sudokuSize);
-        return new Position(x, y);
+        return Position.of(x, y);
     }
 
-    private int getPositionCount() {
+    public int getPositionCount() {
         int minimumCount = (sudokuSize*sudokuSize - (int)(sudokuSize / 0.5625)) / 2;
 
         int difficulty = 31;
@@ -0,0 +1,228 @@
+package net.claves.games.sudokuma;
+
+import net.claves.games.sudokuma.candidates.CandidateSet;
+import net.claves.games.sudokuma.solvers.BranchingStrategy;
+import net.claves.games.sudokuma.solvers.CandidateTrail;
+import net.claves.games.sudokuma.solvers.ConstraintPropagator;
+import net.claves.games.sudokuma.solvers.MinimumRemainingValuesStrategy;
+
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+public class PuzzleDigger {
+    public static final long DEFAULT_NODE_BUDGET = 1000;
+
+    private Random random;
+    private Symmetry symmetry = Symmetry.NONE;
+    private int targetClueCount;
+    private long nodeBudget = DEFAULT_NODE_BUDGET;
+    private BranchingStrategy branchingStrategy = new MinimumRemainingValuesStrategy();
+    private CancellationToken cancellationToken;
+
+    public PuzzleDigger() {
+        this(new Random());
+    }
+
+    public PuzzleDigger(Random random) {
+        this.random = random;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    public Symmetry getSymmetry() {
+        return symmetry;
+    }
+
+    public void setSymmetry(Symmetry symmetry) {
+        this.symmetry = symmetry;
+    }
+
+    public int getTargetClueCount() {
+        return targetClueCount;
+    }
+
+    public void setTargetClueCount(int targetClueCount) {
+        if (targetClueCount < 0) {
+            throw new IllegalArgumentException("The target clue count cannot be negative.");
+        }
+        this.targetClueCount = targetClueCount;
+    }
+
+    public long getNodeBudget() {
+        return nodeBudget;
+    }
+
+    public void setNodeBudget(long nodeBudget) {
+        if (nodeBudget < 0) {
+            throw new IllegalArgumentException("The node budget cannot be negative.");
+        }
+        this.nodeBudget = nodeBudget;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    public void setCancellationToken(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    public SudokuGrid dig(SudokuGrid solution) {
+        return new Dig(solution).run();
+    }
+
+    public enum Symmetry {
+        NONE,
+        ROTATIONAL,
+        MIRROR
+    }
+
+    private class Dig {
+        private final SudokuTopology topology;
+        private final int size;
+        private final int[] values;
+        private final SudokuGrid.VariableItem[] items;
+        private final boolean[] removed;
+        private final SudokuGrid workingGrid;
+        private final CandidateTrail trail;
+        private final ConstraintPropagator propagator;
+        private long nodes;
+
+        private Dig(SudokuGrid solution) {
+            this.size = solution.getSize();
+            this.topology = SudokuTopology.forSize(size);
+            this.values = new int[topology.getCellCount()];
+            this.items = new SudokuGrid.VariableItem[values.length];
+            this.removed = new boolean[values.length];
+            this.workingGrid = new SudokuGrid(size).copy();
+            for (int cell = 0; cell < values.length; cell++) {
+                Integer value = solution.get(cell).getValue();
+                if (value == null) {
+                    throw new IllegalArgumentException("The solution grid must be complete.");
+                }
+                values[cell] = value;
+                items[cell] = (SudokuGrid.VariableItem) workingGrid.get(cell);
+                items[cell].solve(value);
+            }
+            this.trail = new CandidateTrail(values.length * size);
+            this.propagator = new ConstraintPropagator(workingGrid, trail);
+        }
+
+        private SudokuGrid run() {
+            int clues = values.length;
+            int[] order = shuffledCells();
+            for (int cell : order) {
+                if (clues <= targetClueCount) {
+                    break;
+                }
+                if (cancellationToken != null && cancellationToken.isCancelled()) {
+                    throw new CancellationException("The puzzle digging was cancelled.");
+                }
+                if (removed[cell]) {
+                    continue;
+                }
+                int mate = mateOf(cell);
+                int[] cells = mate == cell ? new int[] {cell} : new int[] {cell, mate};
+                if (clues - cells.length < targetClueCount) {
+                    continue;
+                }
+                open(cells);
+                if (hasAlternativeSolution(cells)) {
+                    close(cells);
+                } else {
+                    clues -= cells.length;
+                }
+            }
+
+            Integer[][] squareGrid = new Integer[size][size];
+            for (int cell = 0; cell < values.length; cell++) {
+                squareGrid[topology.rowOf(cell)][topology.columnOf(cell)] = removed[cell] ? null : values[cell];
+            }
+            return SudokuGrid.newInstance(squareGrid);
+        }
+
+        private void open(int[] cells) {
+            for (int cell : cells) {
+                removed[cell] = true;
+                items[cell].setCandidates(CandidateSet.range(1, size));
+                items[cell].setValue(null);
+            }
+        }
+
+        private void close(int[] cells) {
+            for (int cell : cells) {
+                removed[cell] = false;
+                items[cell].solve(values[cell]);
+            }
+        }
+
+        private boolean hasAlternativeSolution(int[] cells) {
+            for (int index = 0; index < cells.length; index++) {
+                int mark = trail.mark();
+                for (int fixed = 0; fixed < index; fixed++) {
+                    trail.solve(items[cells[fixed]], values[cells[fixed]]);
+                }
+                trail.removePossibility(items[cells[index]], values[cells[index]]);
+                nodes = 0;
+                boolean found = propagator.initialize() && search();
+                trail.undo(mark);
+                if (found) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean search() {
+            if (nodeBudget > 0 && ++nodes > nodeBudget) {
+                return true;
+            }
+            SudokuGrid.VariableItem variableItem = branchingStrategy.selectVariable(workingGrid);
+            if (variableItem == null) {
+                return true;
+            }
+            for (int guess : branchingStrategy.orderValues(workingGrid, variableItem)) {
+                int mark = trail.mark();
+                boolean found = propagator.assign(variableItem, guess) && propagator.propagate() && search();
+                trail.undo(mark);
+                if (found) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int mateOf(int cell) {
+            int row = topology.rowOf(cell);
+            int column = topology.columnOf(cell);
+            switch (symmetry) {
+                case ROTATIONAL:
+                    return topology.cell(size - 1 - row, size - 1 - column);
+                case MIRROR:
+                    return topology.cell(row, size - 1 - column);
+                default:
+                    return cell;
+            }
+        }
+
+        private int[] shuffledCells() {
+            int[] cells = new int[values.length];
+            for (int cell = 0; cell < cells.length; cell++) {
+                cells[cell] = cell;
+            }
+            for (int index = cells.length - 1; index > 0; index--) {
+                int other = random.nextInt(index + 1);
+                int cell = cells[index];
+                cells[index] = cells[other];
+                cells[other] = cell;
+            }
+            return cells;
+        }
+    }
+}
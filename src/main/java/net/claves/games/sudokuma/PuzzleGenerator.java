@@ -0,0 +1,5 @@
+package net.claves.games.sudokuma;
+
+public interface PuzzleGenerator {
+    SudokuGrid generate(int size, Difficulty difficulty);
+}
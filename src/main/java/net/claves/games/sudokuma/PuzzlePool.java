@@ -0,0 +1,270 @@
+package net.claves.games.sudokuma;
+
+import net.claves.games.sudokuma.io.SudokuFileReader;
+import net.claves.games.sudokuma.io.SudokuFileWriter;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PuzzlePool implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final PuzzleGenerator puzzleGenerator;
+    private final ExecutorService executorService;
+    private final boolean ownsExecutor;
+    private final ConcurrentMap<Key, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private int capacity = DEFAULT_CAPACITY;
+    private int lowWaterMark = DEFAULT_CAPACITY / 4;
+    private volatile boolean closed;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder generatedCount = new LongAdder();
+
+    public PuzzlePool() {
+        this(new DiggingPuzzleGenerator());
+    }
+
+    public PuzzlePool(PuzzleGenerator puzzleGenerator) {
+        this(puzzleGenerator, SudokuExecutors.newPlatformExecutor(
+                Math.max(1, Runtime.getRuntime().availableProcessors() - 1)), true);
+    }
+
+    public PuzzlePool(PuzzleGenerator puzzleGenerator, ExecutorService executorService) {
+        this(puzzleGenerator, executorService, false);
+    }
+
+    private PuzzlePool(PuzzleGenerator puzzleGenerator, ExecutorService executorService, boolean ownsExecutor) {
+        this.puzzleGenerator = puzzleGenerator;
+        this.executorService = executorService;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1.");
+        }
+        this.capacity = capacity;
+    }
+
+    public int getLowWaterMark() {
+        return lowWaterMark;
+    }
+
+    public void setLowWaterMark(int lowWaterMark) {
+        if (lowWaterMark < 0) {
+            throw new IllegalArgumentException("The low-water mark cannot be negative.");
+        }
+        this.lowWaterMark = lowWaterMark;
+    }
+
+    public SudokuGrid take(int size, Difficulty difficulty) {
+        SudokuGrid puzzle = poll(size, difficulty);
+        if (puzzle == null) {
+            puzzle = puzzleGenerator.generate(size, difficulty);
+            generatedCount.increment();
+        }
+        return puzzle;
+    }
+
+    public SudokuGrid poll(int size, Difficulty difficulty) {
+        Bucket bucket = getBucket(size, difficulty);
+        CompactSudokuGrid puzzle = bucket.puzzles.poll();
+        if (puzzle == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        requestRefill(bucket);
+        return puzzle == null ? null : puzzle.toSudokuGrid();
+    }
+
+    public void warmUp(int size, Difficulty difficulty) {
+        Bucket bucket = getBucket(size, difficulty);
+        if (bucket.puzzles.remainingCapacity() > 0) {
+            startRefill(bucket);
+        }
+    }
+
+    public int getAvailable(int size, Difficulty difficulty) {
+        Bucket bucket = buckets.get(new Key(size, difficulty));
+        return bucket == null ? 0 : bucket.puzzles.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getGeneratedCount() {
+        return generatedCount.sum();
+    }
+
+    public double getHitRate() {
+        long hits = getHitCount();
+        long requests = hits + getMissCount();
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    public void save(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Bucket bucket : buckets.values()) {
+            try (SudokuFileWriter writer = new SudokuFileWriter(directory.resolve(bucket.key.getFileName()))) {
+                for (CompactSudokuGrid puzzle : bucket.puzzles) {
+                    writer.write(puzzle.toSudokuGrid());
+                }
+            }
+        }
+    }
+
+    public int load(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        int loaded = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*-*.txt")) {
+            for (Path file : files) {
+                Key key = Key.parse(file.getFileName().toString());
+                if (key == null) {
+                    continue;
+                }
+                Bucket bucket = getBucket(key.size, key.difficulty);
+                try (SudokuFileReader reader = new SudokuFileReader(file)) {
+                    for (SudokuGrid puzzle = reader.read(); puzzle != null; puzzle = reader.read()) {
+                        if (puzzle.getSize() != key.size || !bucket.puzzles.offer(CompactSudokuGrid.of(puzzle))) {
+                            break;
+                        }
+                        loaded++;
+                    }
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private Bucket getBucket(int size, Difficulty difficulty) {
+        Key key = new Key(size, difficulty);
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new Bucket(key, capacity);
+            Bucket existing = buckets.putIfAbsent(key, bucket);
+            if (existing != null) {
+                bucket = existing;
+            }
+        }
+        return bucket;
+    }
+
+    private void requestRefill(Bucket bucket) {
+        if (bucket.puzzles.size() <= lowWaterMark) {
+            startRefill(bucket);
+        }
+    }
+
+    private void startRefill(final Bucket bucket) {
+        if (closed || bucket.key.size > CompactSudokuGrid.MAX_SIZE || !bucket.refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    refill(bucket);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            bucket.refilling.set(false);
+        }
+    }
+
+    private void refill(Bucket bucket) {
+        try {
+            while (!closed && bucket.puzzles.remainingCapacity() > 0) {
+                SudokuGrid puzzle = puzzleGenerator.generate(bucket.key.size, bucket.key.difficulty);
+                generatedCount.increment();
+                if (!bucket.puzzles.offer(CompactSudokuGrid.of(puzzle))) {
+                    break;
+                }
+            }
+        } finally {
+            bucket.refilling.set(false);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (ownsExecutor) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static class Bucket {
+        private final Key key;
+        private final BlockingQueue<CompactSudokuGrid> puzzles;
+        private final AtomicBoolean refilling = new AtomicBoolean();
+
+        private Bucket(Key key, int capacity) {
+            this.key = key;
+            this.puzzles = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    private static class Key {
+        private final int size;
+        private final Difficulty difficulty;
+
+        private Key(int size, Difficulty difficulty) {
+            this.size = size;
+            this.difficulty = difficulty;
+        }
+
+        private String getFileName() {
+            return size + "-" + difficulty.name().toLowerCase() + ".txt";
+        }
+
+        private static Key parse(String fileName) {
+            int separator = fileName.indexOf('-');
+            try {
+                int size = Integer.parseInt(fileName.substring(0, separator));
+                String name = fileName.substring(separator + 1, fileName.length() - ".txt".length());
+                return new Key(size, Difficulty.valueOf(name.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key key = (Key) o;
+
+            return size == key.size && difficulty == key.difficulty;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * size + difficulty.hashCode();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package net.claves.games.sudokuma;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class SolutionCount {
+    private final int count;
+    private final int limit;
+    private final List<SudokuGrid> solutions;
+
+    public SolutionCount(int count, int limit, List<SudokuGrid> solutions) {
+        this.count = count;
+        this.limit = limit;
+        this.solutions = Collections.unmodifiableList(new ArrayList<>(solutions));
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean isLimitReached() {
+        return count >= limit;
+    }
+
+    public boolean hasSolution() {
+        return count > 0;
+    }
+
+    public boolean isUnique() {
+        return count == 1 && limit > 1;
+    }
+
+    public List<SudokuGrid> getSolutions() {
+        return solutions;
+    }
+
+    @Override
+    public String toString() {
+        return "SolutionCount{" +
+                "count=" + count +
+                ", limit=" + limit +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+package net.claves.games.sudokuma;
+
+import net.claves.games.sudokuma.solvers.RandomizedBranchingStrategy;
+import net.claves.games.sudokuma.solvers.SudokuSolverImpl;
+
+import java.util.Random;
+
+public class SolutionGridGenerator {
+    private final int size;
+    private Random random;
+
+    public SolutionGridGenerator(int size) {
+        this(size, new Random());
+    }
+
+    public SolutionGridGenerator(int size, Random random) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The size must be positive.");
+        }
+        this.size = size;
+        this.random = random;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    public void setRandom(Random random) {
+        this.random = random;
+    }
+
+    public SudokuGrid generate() {
+        SudokuSolverImpl solver = new SudokuSolverImpl(SudokuSolverImpl.SearchMode.IN_PLACE);
+        solver.setBranchingStrategy(new RandomizedBranchingStrategy(random));
+        SolutionCount solutionCount = solver.countSolutions(new SudokuGrid(size), 1, 1);
+        if (!solutionCount.hasSolution()) {
+            throw new IllegalStateException("No solution grid exists for size " + size + ".");
+        }
+        return solutionCount.getSolutions().get(0);
+    }
+
+    public SudokuGrid generateFromPattern() {
+        SudokuTopology topology = SudokuTopology.forSize(size);
+        int regionSize = topology.getRegionSize();
+        int[] rows = shuffleLines(regionSize);
+        int[] columns = shuffleLines(regionSize);
+        int[] symbols = shuffle(size);
+        boolean transpose = random.nextBoolean();
+
+        Integer[][] squareGrid = new Integer[size][size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                int baseRow = rows[transpose ? column : row];
+                int baseColumn = columns[transpose ? row : column];
+                int value = regionSize > 0
+                        ? regionSize * (baseRow % regionSize) + baseRow / regionSize + baseColumn
+                        : baseRow + baseColumn;
+                squareGrid[row][column] = symbols[value % size] + 1;
+            }
+        }
+        return SudokuGrid.newInstance(squareGrid);
+    }
+
+    private int[] shuffleLines(int regionSize) {
+        if (regionSize == 0) {
+            return shuffle(size);
+        }
+        int[] bands = shuffle(regionSize);
+        int[] lines = new int[size];
+        for (int band = 0; band < regionSize; band++) {
+            int[] offsets = shuffle(regionSize);
+            for (int offset = 0; offset < regionSize; offset++) {
+                lines[band * regionSize + offset] = bands[band] * regionSize + offsets[offset];
+            }
+        }
+        return lines;
+    }
+
+    private int[] shuffle(int length) {
+        int[] values = new int[length];
+        for (int index = 0; index < length; index++) {
+            values[index] = index;
+        }
+        for (int index = length - 1; index > 0; index--) {
+            int other = random.nextInt(index + 1);
+            int value = values[index];
+            values[index] = values[other];
+            values[other] = value;
+        }
+        return values;
+    }
+}
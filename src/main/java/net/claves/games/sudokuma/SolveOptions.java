@@ -0,0 +1,59 @@
+package net.claves.games.sudokuma;
+
+import java.util.concurrent.TimeUnit;
+
+public class SolveOptions {
+    private long timeoutNanos = -1;
+    private long maxNodes;
+    private CancellationToken cancellationToken;
+
+    public long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+
+    public boolean hasTimeout() {
+        return timeoutNanos >= 0;
+    }
+
+    public void setTimeout(long timeout, TimeUnit unit) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("The timeout cannot be negative.");
+        }
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    public void clearTimeout() {
+        this.timeoutNanos = -1;
+    }
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    public void setMaxNodes(long maxNodes) {
+        if (maxNodes < 0) {
+            throw new IllegalArgumentException("The node budget cannot be negative.");
+        }
+        this.maxNodes = maxNodes;
+    }
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    public void setCancellationToken(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    public boolean isCancelled() {
+        return cancellationToken != null && cancellationToken.isCancelled();
+    }
+
+    public SolveOptions copy() {
+        SolveOptions copy = new SolveOptions();
+        copy.timeoutNanos = timeoutNanos;
+        copy.maxNodes = maxNodes;
+        copy.cancellationToken = cancellationToken;
+        return copy;
+    }
+}
@@ -0,0 +1,55 @@
+package net.claves.games.sudokuma;
+
+import net.claves.games.Position;
+
+public class SolveResult {
+    private final SolveStatus status;
+    private final SudokuGrid grid;
+    private final Position contradiction;
+    private SudokuGrid diagnosticGrid;
+
+    public SolveResult(SolveStatus status, SudokuGrid grid) {
+        this(status, grid, null);
+    }
+
+    public SolveResult(SolveStatus status, SudokuGrid grid, Position contradiction) {
+        this.status = status;
+        this.grid = grid;
+        this.contradiction = contradiction;
+    }
+
+    public SolveStatus getStatus() {
+        return status;
+    }
+
+    public SudokuGrid getGrid() {
+        return grid;
+    }
+
+    public SudokuGrid getSolution() {
+        return solved() ? grid : null;
+    }
+
+    public Position getContradiction() {
+        return contradiction;
+    }
+
+    public SudokuGrid getDiagnosticGrid() {
+        if (diagnosticGrid == null && grid != null && !solved()) {
+            diagnosticGrid = grid.copy();
+        }
+        return diagnosticGrid;
+    }
+
+    public boolean solved() {
+        return status == SolveStatus.SOLVED;
+    }
+
+    @Override
+    public String toString() {
+        return "SolveResult{" +
+                "status=" + status +
+                (contradiction != null ? ", contradiction=" + contradiction : "") +
+                '}';
+    }
+}
@@ -0,0 +1,146 @@
+package net.claves.games.sudokuma;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class SolveStats {
+    public static final String NAKED_SINGLE = "Naked Single";
+    public static final String HIDDEN_SINGLE = "Hidden Single";
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private long solveCount;
+    private long nodeCount;
+    private long guessCount;
+    private long backtrackCount;
+    private long propagationCount;
+    private int maxDepth;
+    private long wallTimeNanos;
+    private long cpuTimeNanos;
+    private final Map<String, Long> deductions = new TreeMap<>();
+
+    public static long currentThreadCpuTime() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+
+    public void recordNode(int depth) {
+        nodeCount++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    public void recordGuess() {
+        guessCount++;
+    }
+
+    public void recordBacktrack() {
+        backtrackCount++;
+    }
+
+    public void recordPropagation() {
+        propagationCount++;
+    }
+
+    public void recordDeduction(String technique) {
+        Long count = deductions.get(technique);
+        deductions.put(technique, count == null ? 1 : count + 1);
+    }
+
+    public void recordSolve(long wallTimeNanos, long cpuTimeNanos) {
+        solveCount++;
+        this.wallTimeNanos += wallTimeNanos;
+        this.cpuTimeNanos += cpuTimeNanos;
+    }
+
+    public void add(SolveStats solveStats) {
+        SolveStats snapshot = solveStats.snapshot();
+        synchronized (this) {
+            solveCount += snapshot.solveCount;
+            nodeCount += snapshot.nodeCount;
+            guessCount += snapshot.guessCount;
+            backtrackCount += snapshot.backtrackCount;
+            propagationCount += snapshot.propagationCount;
+            maxDepth = Math.max(maxDepth, snapshot.maxDepth);
+            wallTimeNanos += snapshot.wallTimeNanos;
+            cpuTimeNanos += snapshot.cpuTimeNanos;
+            for (Map.Entry<String, Long> entry : snapshot.deductions.entrySet()) {
+                Long count = deductions.get(entry.getKey());
+                deductions.put(entry.getKey(), count == null ? entry.getValue() : count + entry.getValue());
+            }
+        }
+    }
+
+    private synchronized SolveStats snapshot() {
+        SolveStats snapshot = new SolveStats();
+        snapshot.solveCount = solveCount;
+        snapshot.nodeCount = nodeCount;
+        snapshot.guessCount = guessCount;
+        snapshot.backtrackCount = backtrackCount;
+        snapshot.propagationCount = propagationCount;
+        snapshot.maxDepth = maxDepth;
+        snapshot.wallTimeNanos = wallTimeNanos;
+        snapshot.cpuTimeNanos = cpuTimeNanos;
+        snapshot.deductions.putAll(deductions);
+        return snapshot;
+    }
+
+    public synchronized long getSolveCount() {
+        return solveCount;
+    }
+
+    public synchronized long getNodeCount() {
+        return nodeCount;
+    }
+
+    public synchronized long getGuessCount() {
+        return guessCount;
+    }
+
+    public synchronized long getBacktrackCount() {
+        return backtrackCount;
+    }
+
+    public synchronized long getPropagationCount() {
+        return propagationCount;
+    }
+
+    public synchronized int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public synchronized long getWallTimeNanos() {
+        return wallTimeNanos;
+    }
+
+    public synchronized long getCpuTimeNanos() {
+        return cpuTimeNanos;
+    }
+
+    public synchronized long getDeductionCount(String technique) {
+        Long count = deductions.get(technique);
+        return count == null ? 0 : count;
+    }
+
+    public synchronized Map<String, Long> getDeductions() {
+        return Collections.unmodifiableMap(new TreeMap<>(deductions));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SolveStats{" +
+                "solves=" + solveCount +
+                ", nodes=" + nodeCount +
+                ", guesses=" + guessCount +
+                ", backtracks=" + backtrackCount +
+                ", propagations=" + propagationCount +
+                ", maxDepth=" + maxDepth +
+                ", wallTimeNanos=" + wallTimeNanos +
+                ", cpuTimeNanos=" + cpuTimeNanos +
+                ", deductions=" + deductions +
+                '}';
+    }
+}
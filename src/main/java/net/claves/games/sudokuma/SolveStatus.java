@@ -0,0 +1,11 @@
+package net.claves.games.sudokuma;
+
+public enum SolveStatus {
+    SOLVED,
+    UNSOLVABLE,
+    MULTIPLE_SOLUTIONS,
+    FAILED,
+    TIMED_OUT,
+    BUDGET_EXCEEDED,
+    CANCELLED
+}
@@ -0,0 +1,23 @@
+package net.claves.games.sudokuma;
+
+import net.claves.games.Position;
+
+public interface SolverListener {
+    default void solveStarted(SudokuGrid sudokuGrid) {
+    }
+
+    default void nodeVisited(int depth) {
+    }
+
+    default void guessed(Position position, int value, int depth) {
+    }
+
+    default void backtracked(Position position, int value, int depth) {
+    }
+
+    default void solutionFound(SudokuGrid solution, int depth) {
+    }
+
+    default void solveFinished(SudokuGrid sudokuGrid, SolveStats solveStats) {
+    }
+}
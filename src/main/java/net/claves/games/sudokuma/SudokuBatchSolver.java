@@ -0,0 +1,246 @@
+package net.claves.games.sudokuma;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class SudokuBatchSolver implements AutoCloseable {
+    private final ExecutorService executorService;
+    private final boolean ownsExecutor;
+    private final int maxInFlight;
+    private final Semaphore running;
+    private SolveOptions solveOptions;
+
+    public SudokuBatchSolver() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public SudokuBatchSolver(int parallelism) {
+        this(SudokuExecutors.newDefaultExecutor(checkParallelism(parallelism)), parallelism, true);
+    }
+
+    public SudokuBatchSolver(ExecutorService executorService, int parallelism) {
+        this(executorService, checkParallelism(parallelism), false);
+    }
+
+    private SudokuBatchSolver(ExecutorService executorService, int parallelism, boolean ownsExecutor) {
+        this.executorService = executorService;
+        this.ownsExecutor = ownsExecutor;
+        this.maxInFlight = parallelism * 2;
+        this.running = new Semaphore(parallelism);
+    }
+
+    private static int checkParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1.");
+        }
+        return parallelism;
+    }
+
+    public SolveOptions getSolveOptions() {
+        return solveOptions;
+    }
+
+    public void setSolveOptions(SolveOptions solveOptions) {
+        this.solveOptions = solveOptions;
+    }
+
+    public List<Result> solveAll(Iterable<SudokuGrid> puzzles) {
+        List<Result> results = new ArrayList<>();
+        solveAll(puzzles.iterator(), Ordering.INPUT_ORDER, results::add);
+        return results;
+    }
+
+    public List<Result> solveAll(Stream<SudokuGrid> puzzles) {
+        List<Result> results = new ArrayList<>();
+        solveAll(puzzles.iterator(), Ordering.INPUT_ORDER, results::add);
+        return results;
+    }
+
+    public void solveAll(Iterable<SudokuGrid> puzzles, Ordering ordering, Consumer<Result> consumer) {
+        solveAll(puzzles.iterator(), ordering, consumer);
+    }
+
+    public void solveAll(Stream<SudokuGrid> puzzles, Ordering ordering, Consumer<Result> consumer) {
+        solveAll(puzzles.iterator(), ordering, consumer);
+    }
+
+    public void solveAll(Iterator<SudokuGrid> puzzles, Ordering ordering, Consumer<Result> consumer) {
+        if (ordering == Ordering.INPUT_ORDER) {
+            solveInInputOrder(puzzles, consumer);
+        } else {
+            solveInCompletionOrder(puzzles, consumer);
+        }
+    }
+
+    private void solveInInputOrder(Iterator<SudokuGrid> puzzles, Consumer<Result> consumer) {
+        Deque<Future<Result>> pending = new ArrayDeque<>();
+        long index = 0;
+        try {
+            while (puzzles.hasNext()) {
+                if (pending.size() >= maxInFlight) {
+                    consumer.accept(await(pending.poll()));
+                }
+                pending.add(executorService.submit(new SolveTask(index++, puzzles.next(), solveOptions, running)));
+            }
+            while (!pending.isEmpty()) {
+                consumer.accept(await(pending.poll()));
+            }
+        } finally {
+            for (Future<Result> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private void solveInCompletionOrder(Iterator<SudokuGrid> puzzles, Consumer<Result> consumer) {
+        CompletionService<Result> completionService = new ExecutorCompletionService<>(executorService);
+        List<Future<Result>> submitted = new ArrayList<>();
+        int inFlight = 0;
+        long index = 0;
+        try {
+            while (puzzles.hasNext()) {
+                if (inFlight >= maxInFlight) {
+                    consumer.accept(await(take(completionService)));
+                    inFlight--;
+                }
+                submitted.add(completionService.submit(new SolveTask(index++, puzzles.next(), solveOptions, running)));
+                inFlight++;
+                if (submitted.size() > maxInFlight * 4) {
+                    submitted.removeIf(Future::isDone);
+                }
+            }
+            while (inFlight > 0) {
+                consumer.accept(await(take(completionService)));
+                inFlight--;
+            }
+        } finally {
+            for (Future<Result> future : submitted) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static Future<Result> take(CompletionService<Result> completionService) {
+        try {
+            return completionService.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The batch was interrupted.");
+        }
+    }
+
+    private static Result await(Future<Result> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The batch was interrupted.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executorService.shutdownNow();
+        }
+    }
+
+    public enum Ordering {
+        INPUT_ORDER,
+        COMPLETION_ORDER
+    }
+
+    private static class SolveTask implements Callable<Result> {
+        private final long index;
+        private final SudokuGrid puzzle;
+        private final SolveOptions solveOptions;
+        private final Semaphore running;
+
+        private SolveTask(long index, SudokuGrid puzzle, SolveOptions solveOptions, Semaphore running) {
+            this.index = index;
+            this.puzzle = puzzle;
+            this.solveOptions = solveOptions;
+            this.running = running;
+        }
+
+        @Override
+        public Result call() {
+            try {
+                running.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new Result(index, puzzle, null, SolveStatus.CANCELLED, null);
+            }
+            try {
+                SolveResult result = puzzle.solve(solveOptions != null ? solveOptions : new SolveOptions());
+                return new Result(index, puzzle, result.getSolution(), result.getStatus(), null);
+            } catch (RuntimeException e) {
+                return new Result(index, puzzle, null, SolveStatus.FAILED, e);
+            } finally {
+                running.release();
+            }
+        }
+    }
+
+    public static class Result {
+        private final long index;
+        private final SudokuGrid puzzle;
+        private final CompactSudokuGrid solution;
+        private final SudokuGrid largeSolution;
+        private final SolveStatus status;
+        private final RuntimeException error;
+
+        public Result(long index, SudokuGrid puzzle, SudokuGrid solution, SolveStatus status, RuntimeException error) {
+            this.index = index;
+            this.puzzle = puzzle;
+            boolean compact = solution != null && solution.getSize() <= CompactSudokuGrid.MAX_SIZE;
+            this.solution = compact ? CompactSudokuGrid.of(solution) : null;
+            this.largeSolution = compact ? null : solution;
+            this.status = status;
+            this.error = error;
+        }
+
+        public long getIndex() {
+            return index;
+        }
+
+        public SudokuGrid getPuzzle() {
+            return puzzle;
+        }
+
+        public SudokuGrid getSolution() {
+            return solution == null ? largeSolution : solution.toSudokuGrid();
+        }
+
+        public SolveStatus getStatus() {
+            return status;
+        }
+
+        public RuntimeException getError() {
+            return error;
+        }
+
+        public boolean solved() {
+            return status == SolveStatus.SOLVED;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package net.claves.games.sudokuma;
+
+import net.claves.games.sudokuma.io.SudokuFormat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class SudokuCanonicalizer {
+    public static final int DEFAULT_MAX_SEARCH_SIZE = 9;
+    public static final long DEFAULT_MAX_NODES = 5000;
+
+    private int maxSearchSize = DEFAULT_MAX_SEARCH_SIZE;
+    private long maxNodes = DEFAULT_MAX_NODES;
+
+    public int getMaxSearchSize() {
+        return maxSearchSize;
+    }
+
+    public void setMaxSearchSize(int maxSearchSize) {
+        this.maxSearchSize = maxSearchSize;
+    }
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    public void setMaxNodes(long maxNodes) {
+        if (maxNodes < 0) {
+            throw new IllegalArgumentException("The node budget cannot be negative.");
+        }
+        this.maxNodes = maxNodes;
+    }
+
+    public CanonicalForm canonicalize(SudokuGrid sudokuGrid) {
+        return canonicalize(sudokuGrid, null);
+    }
+
+    public CanonicalForm canonicalize(SudokuGrid sudokuGrid, SolveOptions solveOptions) {
+        SudokuTopology topology = SudokuTopology.forSize(sudokuGrid.getSize());
+        int size = topology.getSize();
+        int[] values = new int[topology.getCellCount()];
+        for (int cell = 0; cell < values.length; cell++) {
+            Integer value = sudokuGrid.get(cell).getValue();
+            if (value != null && (value < 1 || value > size)) {
+                throw new IllegalArgumentException("Value " + value + " is out of range for size " + size + ".");
+            }
+            values[cell] = value == null ? 0 : value;
+        }
+
+        SudokuTransform transform;
+        if (topology.hasRegions() && size <= maxSearchSize) {
+            transform = new Search(topology, values, maxNodes, solveOptions).run();
+            if (transform == null) {
+                return null;
+            }
+        } else {
+            transform = relabel(size, values);
+        }
+
+        StringBuilder key = new StringBuilder(values.length * SudokuFormat.cellWidth(size));
+        for (int cell = 0; cell < values.length; cell++) {
+            int value = values[transform.sourceCell(cell)];
+            SudokuFormat.append(key, value == 0 ? null : transform.label(value), size);
+        }
+        return new CanonicalForm(key.toString(), transform);
+    }
+
+    private static SudokuTransform relabel(int size, int[] values) {
+        int[] labels = new int[size + 1];
+        int next = 1;
+        for (int value : values) {
+            if (value != 0 && labels[value] == 0) {
+                labels[value] = next++;
+            }
+        }
+        int[] lines = new int[size];
+        for (int index = 0; index < size; index++) {
+            lines[index] = index;
+        }
+        return new SudokuTransform(size, false, lines, lines, completeLabels(labels, next));
+    }
+
+    private static int[] completeLabels(int[] labels, int next) {
+        int[] complete = labels.clone();
+        for (int symbol = 1; symbol < complete.length; symbol++) {
+            if (complete[symbol] == 0) {
+                complete[symbol] = next++;
+            }
+        }
+        return complete;
+    }
+
+    private static List<int[]> permutations(int count) {
+        List<int[]> permutations = new ArrayList<>();
+        permute(new int[count], new boolean[count], 0, permutations);
+        return permutations;
+    }
+
+    private static void permute(int[] current, boolean[] used, int index, List<int[]> permutations) {
+        if (index == current.length) {
+            permutations.add(current.clone());
+            return;
+        }
+        for (int value = 0; value < current.length; value++) {
+            if (!used[value]) {
+                used[value] = true;
+                current[index] = value;
+                permute(current, used, index + 1, permutations);
+                used[value] = false;
+            }
+        }
+    }
+
+    private static class Search {
+        private final int size;
+        private final int regionSize;
+        private final int[] values;
+        private final List<int[]> blockPermutations;
+
+        private final int[][] view;
+        private final int[] columns;
+        private final int[] output;
+        private final int[] rows;
+        private final boolean[] usedRows;
+        private final boolean[] usedBands;
+
+        private int[] best;
+        private boolean bestTranspose;
+        private int[] bestRows;
+        private int[] bestColumns;
+        private int[] bestLabels;
+
+        private final long maxNodes;
+        private final long deadline;
+        private final CancellationToken cancellationToken;
+        private long nodes;
+        private boolean abandoned;
+
+        private Search(SudokuTopology topology, int[] values, long maxNodes, SolveOptions solveOptions) {
+            this.size = topology.getSize();
+            this.regionSize = topology.getRegionSize();
+            this.values = values;
+            this.blockPermutations = permutations(regionSize);
+            this.view = new int[size][size];
+            this.columns = new int[size];
+            this.output = new int[values.length];
+            this.rows = new int[size];
+            this.usedRows = new boolean[size];
+            this.usedBands = new boolean[regionSize];
+            this.maxNodes = maxNodes;
+            this.deadline = solveOptions != null && solveOptions.hasTimeout()
+                    ? System.nanoTime() + solveOptions.getTimeoutNanos() : 0;
+            this.cancellationToken = solveOptions == null ? null : solveOptions.getCancellationToken();
+        }
+
+        private SudokuTransform run() {
+            for (int transpose = 0; transpose < 2; transpose++) {
+                for (int row = 0; row < size; row++) {
+                    for (int column = 0; column < size; column++) {
+                        view[row][column] = transpose == 1
+                                ? values[column * size + row]
+                                : values[row * size + column];
+                    }
+                }
+                permuteStacks(transpose == 1, new int[regionSize], 0);
+            }
+            if (abandoned) {
+                return null;
+            }
+            int next = 1;
+            for (int label : bestLabels) {
+                next = Math.max(next, label + 1);
+            }
+            return new SudokuTransform(size, bestTranspose, bestRows, bestColumns, completeLabels(bestLabels, next));
+        }
+
+        private void permuteStacks(boolean transpose, int[] stackPermutations, int stack) {
+            if (abandoned) {
+                return;
+            }
+            if (stack == regionSize) {
+                for (int[] stackOrder : blockPermutations) {
+                    for (int index = 0; index < size; index++) {
+                        int[] inner = blockPermutations.get(stackPermutations[index / regionSize]);
+                        columns[index] = stackOrder[index / regionSize] * regionSize + inner[index % regionSize];
+                    }
+                    placeRow(transpose, 0, -1, new int[size + 1], 1);
+                }
+                return;
+            }
+            for (int index = 0; index < blockPermutations.size(); index++) {
+                stackPermutations[stack] = index;
+                permuteStacks(transpose, stackPermutations, stack + 1);
+            }
+        }
+
+        private void placeRow(boolean transpose, int index, int band, int[] labels, int next) {
+            if (abandoned || isOverBudget()) {
+                return;
+            }
+            if (index == size) {
+                if (best == null || compare(size) < 0) {
+                    best = output.clone();
+                    bestTranspose = transpose;
+                    bestRows = rows.clone();
+                    bestColumns = columns.clone();
+                    bestLabels = labels.clone();
+                }
+                return;
+            }
+            int prefix = best == null ? -1 : compare(index);
+            if (prefix > 0) {
+                return;
+            }
+
+            int[] minimum = null;
+            int[] candidate = new int[size];
+            List<Integer> ties = new ArrayList<>();
+            for (int row = 0; row < size; row++) {
+                if (usedRows[row]) {
+                    continue;
+                }
+                if (index % regionSize == 0 ? usedBands[row / regionSize] : row / regionSize != band) {
+                    continue;
+                }
+                label(row, labels, next, candidate);
+                int order = minimum == null ? -1 : compareRows(candidate, minimum);
+                if (order < 0) {
+                    minimum = candidate.clone();
+                    ties.clear();
+                }
+                if (order <= 0) {
+                    ties.add(row);
+                }
+            }
+            if (prefix == 0 && compareRows(minimum, Arrays.copyOfRange(best, index * size, (index + 1) * size)) > 0) {
+                return;
+            }
+
+            for (int row : ties) {
+                int[] nextLabels = labels.clone();
+                int nextLabel = next;
+                for (int column = 0; column < size; column++) {
+                    int value = view[row][columns[column]];
+                    if (value != 0 && nextLabels[value] == 0) {
+                        nextLabels[value] = nextLabel++;
+                    }
+                }
+                System.arraycopy(minimum, 0, output, index * size, size);
+                rows[index] = row;
+                usedRows[row] = true;
+                usedBands[row / regionSize] = true;
+                placeRow(transpose, index + 1, row / regionSize, nextLabels, nextLabel);
+                usedRows[row] = false;
+                if (index % regionSize == 0) {
+                    usedBands[row / regionSize] = false;
+                }
+            }
+        }
+
+        private boolean isOverBudget() {
+            nodes++;
+            if (maxNodes > 0 && nodes > maxNodes) {
+                abandoned = true;
+            } else if ((nodes & 0xFF) == 0) {
+                abandoned = (deadline != 0 && System.nanoTime() - deadline > 0)
+                        || (cancellationToken != null && cancellationToken.isCancelled());
+            }
+            return abandoned;
+        }
+
+        private void label(int row, int[] labels, int next, int[] target) {
+            int[] pending = new int[size + 1];
+            for (int column = 0; column < size; column++) {
+                int value = view[row][columns[column]];
+                if (value == 0) {
+                    target[column] = 0;
+                } else if (labels[value] != 0) {
+                    target[column] = labels[value];
+                } else {
+                    if (pending[value] == 0) {
+                        pending[value] = next++;
+                    }
+                    target[column] = pending[value];
+                }
+            }
+        }
+
+        private int compare(int rowCount) {
+            for (int index = 0; index < rowCount * size; index++) {
+                if (output[index] != best[index]) {
+                    return output[index] < best[index] ? -1 : 1;
+                }
+            }
+            return 0;
+        }
+
+        private static int compareRows(int[] first, int[] second) {
+            for (int index = 0; index < first.length; index++) {
+                if (first[index] != second[index]) {
+                    return first[index] < second[index] ? -1 : 1;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -3,39 +3,48 @@ package net.claves.games.sudokuma;
 import net.claves.games.Grid;
 import net.claves.games.Position;
 import net.claves.games.PositionsGenerator;
+import net.claves.games.sudokuma.candidates.CandidateSet;
+import net.claves.games.sudokuma.solvers.BitboardSolver;
+import net.claves.games.sudokuma.solvers.CdclSolver;
 import net.claves.games.sudokuma.solvers.SudokuSolverImpl;
 import net.claves.games.sudokuma.validators.GivenCountValidator;
+import net.claves.games.sudokuma.validators.IncrementalUniqueItemsValidator;
 import net.claves.games.sudokuma.validators.LegalValueManager;
-import net.claves.games.sudokuma.validators.UniqueItemsValidator;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 public class SudokuGrid extends Grid<Integer> {
+    public static final int LARGE_GRID_SIZE = 16;
+
+    private final SudokuTopology topology;
     private Item[][] itemsByReqion;
 
     private int regionSize;
 
     private List<SudokuValidator> validators;
     private LegalValueManager legalValueManager;
+    private IncrementalUniqueItemsValidator uniqueItemsValidator;
 
     private SudokuSolver solver;
 
     public SudokuGrid(int size) {
         super(size);
+        topology = SudokuTopology.forSize(size);
 
         List<SudokuValidator> validators = new ArrayList<>();
         validators.add(new GivenCountValidator());
-        validators.add(new UniqueItemsValidator());
+        uniqueItemsValidator = new IncrementalUniqueItemsValidator(size);
+        addListener(uniqueItemsValidator);
+        validators.add(uniqueItemsValidator);
         legalValueManager = new LegalValueManager(size);
         validators.add(legalValueManager);
         setValidators(validators);
 
-        setSolver(new SudokuSolverImpl());
-
-        int sqrt = (int) Math.sqrt(getSize());
-        if (sqrt * sqrt == getSize()) {
-            regionSize = sqrt;
-        }
+        regionSize = topology.getRegionSize();
         if (hasRegions()) {
             itemsByReqion = new Item[getSize()][getSize()];
         }
@@ -49,10 +58,27 @@ public class SudokuGrid extends Grid<Integer> {
         this.validators = validators;
     }
 
+    public SudokuTopology getTopology() {
+        return topology;
+    }
+
     public SudokuSolver getSolver() {
+        if (solver == null) {
+            solver = createDefaultSolver(getSize());
+        }
         return solver;
     }
 
+    private static SudokuSolver createDefaultSolver(int size) {
+        if (size == BitboardSolver.SIZE) {
+            return new BitboardSolver();
+        }
+        if (size < LARGE_GRID_SIZE) {
+            return new SudokuSolverImpl();
+        }
+        return new CdclSolver();
+    }
+
     public void setSolver(SudokuSolver solver) {
         this.solver = solver;
     }
@@ -61,7 +87,7 @@ public class SudokuGrid extends Grid<Integer> {
     public Item put(Position position, Item gridItem) {
         super.put(position, gridItem);
         if (regionSize > 0) {
-            getRegion(position)
+            itemsByReqion[topology.regionOf(topology.cell(position.x, position.y))]
                     [(position.x % regionSize) * regionSize + (position.y % regionSize)] = gridItem;
         }
 
@@ -74,8 +100,7 @@ public class SudokuGrid extends Grid<Integer> {
     }
 
     public Item[] getRegion(Position position) {
-        return itemsByReqion
-                [(position.x / regionSize) * regionSize + (position.y / regionSize)];
+        return itemsByReqion[topology.regionOf(topology.cell(position.x, position.y))];
     }
 
     public Item[] getRegion(int region) {
@@ -83,46 +108,62 @@ public class SudokuGrid extends Grid<Integer> {
     }
 
     public static SudokuGrid newInstance() {
-        SudokuGrid sudokuGrid = new SudokuGrid(9);
-        sudokuGrid.generate();
+        return newInstance(9);
+    }
+
+    public static SudokuGrid newInstance(int size) {
+        SudokuGrid sudokuGrid = new SudokuGrid(size);
+        sudokuGrid.generate(null);
 
         return sudokuGrid;
     }
 
-    private void generate() {
-        for (int rowIndex = 0; rowIndex < getSize(); rowIndex++) {
-            for (int columnIndex = 0; columnIndex < getSize(); columnIndex++) {
-                Position position = new Position(rowIndex, columnIndex);
-                Integer randomValue = generateValueFor(position);
-                if (randomValue == null) {
-                    clear();
-                    rowIndex = 0;
-                    columnIndex = -1;
-                    continue;
-                }
-                put(position, new GivenItem(randomValue, position));
+    public static CompletableFuture<SudokuGrid> newInstanceAsync() {
+        return newInstanceAsync(9);
+    }
+
+    public static CompletableFuture<SudokuGrid> newInstanceAsync(int size) {
+        return newInstanceAsync(size, SudokuExecutors.getDefaultExecutor());
+    }
+
+    public static CompletableFuture<SudokuGrid> newInstanceAsync(final int size, Executor executor) {
+        final CancellationToken cancellationToken = new CancellationToken();
+        return cancelOnAbort(CompletableFuture.supplyAsync(new Supplier<SudokuGrid>() {
+            @Override
+            public SudokuGrid get() {
+                SudokuGrid sudokuGrid = new SudokuGrid(size);
+                sudokuGrid.generate(cancellationToken);
+                return sudokuGrid;
             }
+        }, executor), cancellationToken);
+    }
+
+    private void generate(CancellationToken cancellationToken) {
+        SudokuGrid generated = new SolutionGridGenerator(getSize()).generate();
+        PuzzleDigger puzzleDigger = new PuzzleDigger();
+        puzzleDigger.setTargetClueCount(Math.max(getClueCount(), GivenCountValidator.getMinimumGivenCount(getSize())));
+        puzzleDigger.setCancellationToken(cancellationToken);
+        copy(puzzleDigger.dig(generated));
+    }
+
+    private int getClueCount() {
+        PositionsGenerator positionsGenerator = getPositionsGenerator();
+        if (positionsGenerator instanceof GivenPositionsGenerator) {
+            return ((GivenPositionsGenerator) positionsGenerator).getPositionCount();
         }
-        SudokuGrid generated = copy();
-
-        while (true) {
-            Collection<Position> givenPositions = getPositionsGenerator().generate();
-            for (int rowIndex = 0; rowIndex < getSize(); rowIndex++) {
-                for (int columnIndex = 0; columnIndex < getSize(); columnIndex++) {
-                    if (!givenPositions.contains(new Position(rowIndex, columnIndex))) {
-                        remove(new Position(rowIndex, columnIndex));
-                    }
-                }
-            }
-            try {
-                if (solve().solved()) {
-                    return;
+        return positionsGenerator.generate().size();
+    }
+
+    private static <T> CompletableFuture<T> cancelOnAbort(CompletableFuture<T> future, final CancellationToken cancellationToken) {
+        future.whenComplete(new BiConsumer<T, Throwable>() {
+            @Override
+            public void accept(T result, Throwable throwable) {
+                if (throwable != null) {
+                    cancellationToken.cancel();
                 }
-            } catch (Exception ignored) {
             }
-            // Try again
-            copy(generated);
-        }
+        });
+        return future;
     }
 
     private void clearVariables() {
@@ -153,7 +194,7 @@ public class SudokuGrid extends Grid<Integer> {
     }
 
     public Integer generateValueFor(Position position) {
-        List<Integer> validValuesForPosition = new ArrayList<>(getValidValuesFor(position));
+        CandidateSet validValuesForPosition = getValidValuesFor(position);
         if (validValuesForPosition.isEmpty()) {
             return null;
         }
@@ -165,41 +206,41 @@ public class SudokuGrid extends Grid<Integer> {
         return getRow(row)[column];
     }
 
-    protected Set<Integer> getValidValuesFor(Position position) {
-        Set<Integer> validValues = legalValueManager.getLegalValues();
-        for (Item<Integer> gridItem : getRow(position.x)) {
-            if (gridItem != null) {
-                validValues.remove(gridItem.getValue());
-            }
-        }
-        for (Item<Integer> gridItem : getColumn(position.y)) {
-            if (gridItem != null) {
-                validValues.remove(gridItem.getValue());
-            }
-        }
+    protected CandidateSet getValidValuesFor(Position position) {
+        CandidateSet validValues = legalValueManager.getLegalCandidates();
+        removeValues(validValues, getRow(position.x));
+        removeValues(validValues, getColumn(position.y));
         if (hasRegions()) {
-            for (Item gridItem : getRegion(position)) {
-                if (gridItem != null) {
-                    validValues.remove(gridItem.getValue());
-                }
-            }
+            removeValues(validValues, getRegion(position));
         }
 
         return validValues;
     }
 
-    public SudokuGrid copy() {
-        return newInstance(getIntegerArray());
+    private static void removeValues(CandidateSet validValues, Item[] items) {
+        for (Item<Integer> gridItem : items) {
+            if (gridItem != null && gridItem.getValue() != null) {
+                validValues.remove(gridItem.getValue());
+            }
+        }
     }
 
-    private Integer[][] getIntegerArray() {
-        Integer[][] itemsArray = new Integer[getSize()][getSize()];
+    public SudokuGrid copy() {
+        SudokuGrid copy = new SudokuGrid(getSize());
         for (int row = 0; row < getSize(); row ++) {
+            Item[] items = getRow(row);
             for (int column = 0; column < getSize(); column++) {
-                itemsArray[row][column] = get(row, column).getValue();
+                Item item = items[column];
+                if (item == null) {
+                    copy.get(row, column);
+                } else if (item.getValue() == null) {
+                    copy.put(item.getPosition(), copy.createEmptyItem(item.getPosition()));
+                } else {
+                    copy.put(item.getPosition(), new GivenItem((Integer) item.getValue(), item.getPosition()));
+                }
             }
         }
-        return itemsArray;
+        return copy;
     }
 
     public static SudokuGrid newInstance(Integer[][] squareGrid) {
@@ -221,7 +262,7 @@ public class SudokuGrid extends Grid<Integer> {
                     value = null;
                 }
 
-                Position position = new Position(rowIndex, columnIndex);
+                Position position = Position.of(rowIndex, columnIndex);
                 put(position, (value == null) ?
                         createEmptyItem(position) :
                         new GivenItem(value, position));
@@ -233,6 +274,18 @@ public class SudokuGrid extends Grid<Integer> {
         return regionSize > 0;
     }
 
+    public int getRegionSize() {
+        return regionSize;
+    }
+
+    public boolean hasConflicts() {
+        return uniqueItemsValidator.hasConflicts();
+    }
+
+    public Set<Position> getConflictingPositions() {
+        return uniqueItemsValidator.getConflictingPositions(this);
+    }
+
     public boolean isValid() {
         for (SudokuValidator validator : validators) {
             if (!validator.isValid(this)) {
@@ -243,7 +296,44 @@ public class SudokuGrid extends Grid<Integer> {
     }
 
     public SudokuGrid solve() {
-        return solver.solve(copy());
+        return getSolver().solve(copy());
+    }
+
+    public SolveResult solve(SolveOptions solveOptions) {
+        return getSolver().solve(copy(), solveOptions);
+    }
+
+    public CompletableFuture<SolveResult> solveAsync() {
+        return solveAsync(new SolveOptions());
+    }
+
+    public CompletableFuture<SolveResult> solveAsync(SolveOptions solveOptions) {
+        return solveAsync(solveOptions, SudokuExecutors.getDefaultExecutor());
+    }
+
+    public CompletableFuture<SolveResult> solveAsync(SolveOptions solveOptions, Executor executor) {
+        final SudokuSolver sudokuSolver = getSolver();
+        final SudokuGrid sudokuGrid = copy();
+        final SolveOptions options = solveOptions.copy();
+        options.setCancellationToken(new CancellationToken(solveOptions.getCancellationToken()));
+        return cancelOnAbort(CompletableFuture.supplyAsync(new Supplier<SolveResult>() {
+            @Override
+            public SolveResult get() {
+                return sudokuSolver.solve(sudokuGrid, options);
+            }
+        }, executor), options.getCancellationToken());
+    }
+
+    public SolutionCount countSolutions(int limit) {
+        return getSolver().countSolutions(this, limit);
+    }
+
+    public SolutionCount countSolutions(int limit, int maxSolutions) {
+        return getSolver().countSolutions(this, limit, maxSolutions);
+    }
+
+    public boolean isUnique() {
+        return countSolutions(2).isUnique();
     }
 
     public boolean solved() {
@@ -290,17 +380,7 @@ public class SudokuGrid extends Grid<Integer> {
             for (int columnIndex = 0; columnIndex < getSize(); columnIndex++) {
                 Item<Integer> item = get(rowIndex, columnIndex);
                 if (item.getValue() == null && item instanceof VariableItem) {
-                    stringBuilder.append("[");
-                    Set<Integer> possibilities = ((VariableItem) item).getPossibilities();
-                    Iterator<Integer> possibilityIterator = possibilities.iterator();
-                    for (int i = 0; i < possibilities.size(); i++) {
-                        Integer possibility = possibilityIterator.next();
-                        stringBuilder.append(possibility);
-                        if (i < possibilities.size() - 1) {
-                            stringBuilder.append("|");
-                        }
-                    }
-                    stringBuilder.append("]");
+                    stringBuilder.append(((VariableItem) item).getCandidates());
                 } else {
                     stringBuilder.append(item.getValue());
                 }
@@ -330,39 +410,44 @@ public class SudokuGrid extends Grid<Integer> {
     }
 
     public static class VariableItem extends Item<Integer> {
-        private Set<Integer> possibilities;
+        private CandidateSet candidates;
 
         public VariableItem(int start, int end, Position position) {
             super(null, position);
-            possibilities = new HashSet<>();
-            for (int i = start; i <= end; i++) {
-                possibilities.add(i);
-            }
+            candidates = CandidateSet.range(start, end);
         }
 
         public boolean removePossibility(Integer possibility) {
-            boolean removed = possibilities.remove(possibility);
+            boolean removed = possibility != null && candidates.remove(possibility);
             if (solved()) {
-                setValue(possibilities.iterator().next());
+                setValue(candidates.first());
             }
             return removed;
         }
 
         public void solve(Integer solution) {
-            possibilities.retainAll(Arrays.asList(solution));
+            candidates.retain(solution);
             setValue(solution);
         }
 
         public boolean solved() {
-            return possibilities.size() == 1 && getValue() != null;
+            return candidates.size() == 1 && getValue() != null;
+        }
+
+        public CandidateSet getCandidates() {
+            return candidates;
+        }
+
+        public void setCandidates(CandidateSet candidates) {
+            this.candidates = candidates;
         }
 
         public Set<Integer> getPossibilities() {
-            return possibilities;
+            return candidates.toSet();
         }
 
         public void setPossibilities(Set<Integer> possibilities) {
-            this.possibilities = possibilities;
+            this.candidates = CandidateSet.of(candidates.capacity(), possibilities);
         }
     }
 }
\ No newline at end of file
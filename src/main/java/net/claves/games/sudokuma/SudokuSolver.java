@@ -1,5 +1,59 @@
 package net.claves.games.sudokuma;
 
+import net.claves.games.sudokuma.exceptions.MultipleSolutionsException;
+import net.claves.games.sudokuma.exceptions.UnsolvableSudokuException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public interface SudokuSolver {
     SudokuGrid solve(SudokuGrid sudokuGrid);
+
+    default SudokuGrid solve(SudokuGrid sudokuGrid, SolveStats solveStats) {
+        long wallTime = System.nanoTime();
+        long cpuTime = SolveStats.currentThreadCpuTime();
+        try {
+            return solve(sudokuGrid);
+        } finally {
+            SolveStats stats = new SolveStats();
+            stats.recordSolve(System.nanoTime() - wallTime, SolveStats.currentThreadCpuTime() - cpuTime);
+            if (solveStats != null) {
+                solveStats.add(stats);
+            }
+        }
+    }
+
+    default SolveResult solve(SudokuGrid sudokuGrid, SolveOptions solveOptions) {
+        if (solveOptions.isCancelled()) {
+            return new SolveResult(SolveStatus.CANCELLED, sudokuGrid);
+        }
+        try {
+            return new SolveResult(SolveStatus.SOLVED, solve(sudokuGrid));
+        } catch (MultipleSolutionsException e) {
+            return new SolveResult(SolveStatus.MULTIPLE_SOLUTIONS, sudokuGrid);
+        } catch (UnsolvableSudokuException e) {
+            return new SolveResult(SolveStatus.UNSOLVABLE, sudokuGrid);
+        }
+    }
+
+    default SolutionCount countSolutions(SudokuGrid sudokuGrid, int limit) {
+        return countSolutions(sudokuGrid, limit, 0);
+    }
+
+    default SolutionCount countSolutions(SudokuGrid sudokuGrid, int limit, int maxSolutions) {
+        if (limit <= 0) {
+            return new SolutionCount(0, limit, Collections.<SudokuGrid>emptyList());
+        }
+        List<SudokuGrid> solutions = new ArrayList<>();
+        try {
+            solutions.add(solve(sudokuGrid.copy()));
+        } catch (MultipleSolutionsException e) {
+            solutions.addAll(e.getSolutions());
+        } catch (UnsolvableSudokuException e) {
+            return new SolutionCount(0, limit, solutions);
+        }
+        int count = Math.min(solutions.size(), limit);
+        return new SolutionCount(count, limit, solutions.subList(0, Math.min(count, maxSolutions)));
+    }
 }
@@ -0,0 +1,151 @@
+package net.claves.games.sudokuma;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public final class SudokuTopology {
+    private static final ConcurrentMap<Integer, SudokuTopology> TOPOLOGIES = new ConcurrentHashMap<>();
+
+    private final int size;
+    private final int regionSize;
+    private final int cellCount;
+    private final int[][] units;
+    private final int[][] cellUnits;
+    private final int[][] peers;
+
+    private SudokuTopology(int size) {
+        this.size = size;
+        int sqrt = (int) Math.sqrt(size);
+        this.regionSize = sqrt * sqrt == size ? sqrt : 0;
+        this.cellCount = size * size;
+
+        int unitTypes = regionSize > 0 ? 3 : 2;
+        units = new int[unitTypes * size][size];
+        cellUnits = new int[cellCount][unitTypes];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                int cell = row * size + column;
+                units[row][column] = cell;
+                units[size + column][row] = cell;
+                cellUnits[cell][0] = row;
+                cellUnits[cell][1] = size + column;
+                if (regionSize > 0) {
+                    int region = (row / regionSize) * regionSize + column / regionSize;
+                    units[2 * size + region][(row % regionSize) * regionSize + column % regionSize] = cell;
+                    cellUnits[cell][2] = 2 * size + region;
+                }
+            }
+        }
+
+        peers = new int[cellCount][];
+        boolean[] seen = new boolean[cellCount];
+        int[] buffer = new int[unitTypes * size];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int count = 0;
+            seen[cell] = true;
+            for (int unit : cellUnits[cell]) {
+                for (int peer : units[unit]) {
+                    if (!seen[peer]) {
+                        seen[peer] = true;
+                        buffer[count++] = peer;
+                    }
+                }
+            }
+            peers[cell] = Arrays.copyOf(buffer, count);
+            Arrays.sort(peers[cell]);
+            seen[cell] = false;
+            for (int peer : peers[cell]) {
+                seen[peer] = false;
+            }
+        }
+    }
+
+    public static SudokuTopology forSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The size must be positive.");
+        }
+        SudokuTopology topology = TOPOLOGIES.get(size);
+        if (topology == null) {
+            topology = new SudokuTopology(size);
+            SudokuTopology existing = TOPOLOGIES.putIfAbsent(size, topology);
+            if (existing != null) {
+                topology = existing;
+            }
+        }
+        return topology;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getRegionSize() {
+        return regionSize;
+    }
+
+    public boolean hasRegions() {
+        return regionSize > 0;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public int getUnitCount() {
+        return units.length;
+    }
+
+    public int cell(int row, int column) {
+        return row * size + column;
+    }
+
+    public int rowOf(int cell) {
+        return cell / size;
+    }
+
+    public int columnOf(int cell) {
+        return cell % size;
+    }
+
+    public int regionOf(int cell) {
+        return regionSize > 0 ? cellUnits[cell][2] - 2 * size : -1;
+    }
+
+    public int[] getUnitCells(int unit) {
+        return units[unit];
+    }
+
+    public int[] getRowCells(int row) {
+        return units[row];
+    }
+
+    public int[] getColumnCells(int column) {
+        return units[size + column];
+    }
+
+    public int[] getRegionCells(int region) {
+        return units[2 * size + region];
+    }
+
+    public int[] getCellUnits(int cell) {
+        return cellUnits[cell];
+    }
+
+    public int[] getPeers(int cell) {
+        return peers[cell];
+    }
+
+    public boolean isPeer(int cell, int other) {
+        return Arrays.binarySearch(peers[cell], other) >= 0;
+    }
+
+    public boolean unitContains(int unit, int cell) {
+        for (int cellUnit : cellUnits[cell]) {
+            if (cellUnit == unit) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
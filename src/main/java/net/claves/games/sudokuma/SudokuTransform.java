@@ -0,0 +1,64 @@
+package net.claves.games.sudokuma;
+
+public class SudokuTransform {
+    private final int size;
+    private final boolean transpose;
+    private final int[] rows;
+    private final int[] columns;
+    private final int[] labels;
+    private final int[] symbols;
+
+    public SudokuTransform(int size, boolean transpose, int[] rows, int[] columns, int[] labels) {
+        this.size = size;
+        this.transpose = transpose;
+        this.rows = rows.clone();
+        this.columns = columns.clone();
+        this.labels = labels.clone();
+        this.symbols = new int[size + 1];
+        for (int symbol = 1; symbol <= size; symbol++) {
+            symbols[labels[symbol]] = symbol;
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isTranspose() {
+        return transpose;
+    }
+
+    public int sourceCell(int cell) {
+        int row = rows[cell / size];
+        int column = columns[cell % size];
+        return transpose ? column * size + row : row * size + column;
+    }
+
+    public int label(int symbol) {
+        return labels[symbol];
+    }
+
+    public int symbol(int label) {
+        return symbols[label];
+    }
+
+    public SudokuGrid apply(SudokuGrid sudokuGrid) {
+        Integer[][] squareGrid = new Integer[size][size];
+        for (int cell = 0; cell < size * size; cell++) {
+            int source = sourceCell(cell);
+            Integer value = sudokuGrid.get(source).getValue();
+            squareGrid[cell / size][cell % size] = value == null ? null : labels[value];
+        }
+        return SudokuGrid.newInstance(squareGrid);
+    }
+
+    public SudokuGrid revert(SudokuGrid sudokuGrid) {
+        Integer[][] squareGrid = new Integer[size][size];
+        for (int cell = 0; cell < size * size; cell++) {
+            int source = sourceCell(cell);
+            Integer value = sudokuGrid.get(cell).getValue();
+            squareGrid[source / size][source % size] = value == null ? null : symbols[value];
+        }
+        return SudokuGrid.newInstance(squareGrid);
+    }
+}
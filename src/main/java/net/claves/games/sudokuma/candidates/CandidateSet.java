@@ -0,0 +1,111 @@
+package net.claves.games.sudokuma.candidates;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public abstract class CandidateSet {
+    private final int capacity;
+
+    protected CandidateSet(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("The capacity cannot be negative.");
+        }
+        this.capacity = capacity;
+    }
+
+    public static CandidateSet newInstance(int capacity) {
+        if (capacity <= LongCandidateSet.MAX_CAPACITY) {
+            return new LongCandidateSet(capacity);
+        }
+        return new WordArrayCandidateSet(capacity);
+    }
+
+    public static CandidateSet range(int start, int end) {
+        CandidateSet candidateSet = newInstance(end);
+        for (int value = Math.max(start, 1); value <= end; value++) {
+            candidateSet.add(value);
+        }
+        return candidateSet;
+    }
+
+    public static CandidateSet of(int capacity, Set<Integer> values) {
+        CandidateSet candidateSet = newInstance(capacity);
+        for (Integer value : values) {
+            if (value != null) {
+                candidateSet.add(value);
+            }
+        }
+        return candidateSet;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public abstract boolean contains(int value);
+
+    public abstract boolean add(int value);
+
+    public abstract boolean remove(int value);
+
+    public abstract boolean retain(int value);
+
+    public abstract void clear();
+
+    public abstract int size();
+
+    public abstract boolean isEmpty();
+
+    public abstract int first();
+
+    public abstract int next(int value);
+
+    public abstract boolean addAll(CandidateSet other);
+
+    public abstract boolean removeAll(CandidateSet other);
+
+    public abstract boolean retainAll(CandidateSet other);
+
+    public abstract boolean intersects(CandidateSet other);
+
+    public abstract void copyFrom(CandidateSet other);
+
+    public abstract CandidateSet copy();
+
+    public int get(int index) {
+        int value = first();
+        for (int i = 0; i < index && value != -1; i++) {
+            value = next(value);
+        }
+        if (value == -1) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return value;
+    }
+
+    public Set<Integer> toSet() {
+        Set<Integer> values = new HashSet<>();
+        for (int value = first(); value != -1; value = next(value)) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    protected void checkCapacity(CandidateSet other) {
+        if (other.capacity != capacity) {
+            throw new IllegalArgumentException("Candidate sets must have the same capacity.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder stringBuilder = new StringBuilder("[");
+        for (int value = first(); value != -1; value = next(value)) {
+            if (stringBuilder.length() > 1) {
+                stringBuilder.append("|");
+            }
+            stringBuilder.append(value);
+        }
+        return stringBuilder.append("]").toString();
+    }
+}
@@ -0,0 +1,145 @@
+package net.claves.games.sudokuma.candidates;
+
+public class LongCandidateSet extends CandidateSet {
+    public static final int MAX_CAPACITY = Long.SIZE;
+
+    private long mask;
+
+    public LongCandidateSet(int capacity) {
+        super(capacity);
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("A long candidate set holds at most " + MAX_CAPACITY + " values.");
+        }
+    }
+
+    public long getMask() {
+        return mask;
+    }
+
+    public void setMask(long mask) {
+        this.mask = mask;
+    }
+
+    private boolean inRange(int value) {
+        return value >= 1 && value <= capacity();
+    }
+
+    @Override
+    public boolean contains(int value) {
+        return inRange(value) && (mask & (1L << (value - 1))) != 0;
+    }
+
+    @Override
+    public boolean add(int value) {
+        if (!inRange(value)) {
+            throw new IllegalArgumentException("Value " + value + " is out of range.");
+        }
+        long old = mask;
+        mask |= 1L << (value - 1);
+        return mask != old;
+    }
+
+    @Override
+    public boolean remove(int value) {
+        if (!inRange(value)) {
+            return false;
+        }
+        long old = mask;
+        mask &= ~(1L << (value - 1));
+        return mask != old;
+    }
+
+    @Override
+    public boolean retain(int value) {
+        long old = mask;
+        mask = inRange(value) ? mask & (1L << (value - 1)) : 0L;
+        return mask != old;
+    }
+
+    @Override
+    public void clear() {
+        mask = 0L;
+    }
+
+    @Override
+    public int size() {
+        return Long.bitCount(mask);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mask == 0L;
+    }
+
+    @Override
+    public int first() {
+        return mask == 0L ? -1 : Long.numberOfTrailingZeros(mask) + 1;
+    }
+
+    @Override
+    public int next(int value) {
+        if (value >= MAX_CAPACITY) {
+            return -1;
+        }
+        long rest = value <= 0 ? mask : mask & (-1L << value);
+        return rest == 0L ? -1 : Long.numberOfTrailingZeros(rest) + 1;
+    }
+
+    @Override
+    public boolean addAll(CandidateSet other) {
+        checkCapacity(other);
+        long old = mask;
+        mask |= ((LongCandidateSet) other).mask;
+        return mask != old;
+    }
+
+    @Override
+    public boolean removeAll(CandidateSet other) {
+        checkCapacity(other);
+        long old = mask;
+        mask &= ~((LongCandidateSet) other).mask;
+        return mask != old;
+    }
+
+    @Override
+    public boolean retainAll(CandidateSet other) {
+        checkCapacity(other);
+        long old = mask;
+        mask &= ((LongCandidateSet) other).mask;
+        return mask != old;
+    }
+
+    @Override
+    public boolean intersects(CandidateSet other) {
+        checkCapacity(other);
+        return (mask & ((LongCandidateSet) other).mask) != 0L;
+    }
+
+    @Override
+    public void copyFrom(CandidateSet other) {
+        checkCapacity(other);
+        mask = ((LongCandidateSet) other).mask;
+    }
+
+    @Override
+    public CandidateSet copy() {
+        LongCandidateSet copy = new LongCandidateSet(capacity());
+        copy.mask = mask;
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LongCandidateSet that = (LongCandidateSet) o;
+
+        return capacity() == that.capacity() && mask == that.mask;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * capacity() + Long.hashCode(mask);
+    }
+}
@@ -0,0 +1,189 @@
+package net.claves.games.sudokuma.candidates;
+
+import java.util.Arrays;
+
+public class WordArrayCandidateSet extends CandidateSet {
+    private final long[] words;
+
+    public WordArrayCandidateSet(int capacity) {
+        super(capacity);
+        words = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    public long[] getWords() {
+        return words;
+    }
+
+    private boolean inRange(int value) {
+        return value >= 1 && value <= capacity();
+    }
+
+    @Override
+    public boolean contains(int value) {
+        if (!inRange(value)) {
+            return false;
+        }
+        int bit = value - 1;
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    @Override
+    public boolean add(int value) {
+        if (!inRange(value)) {
+            throw new IllegalArgumentException("Value " + value + " is out of range.");
+        }
+        int bit = value - 1;
+        long old = words[bit >>> 6];
+        words[bit >>> 6] = old | (1L << bit);
+        return words[bit >>> 6] != old;
+    }
+
+    @Override
+    public boolean remove(int value) {
+        if (!inRange(value)) {
+            return false;
+        }
+        int bit = value - 1;
+        long old = words[bit >>> 6];
+        words[bit >>> 6] = old & ~(1L << bit);
+        return words[bit >>> 6] != old;
+    }
+
+    @Override
+    public boolean retain(int value) {
+        boolean present = contains(value);
+        boolean changed = size() != (present ? 1 : 0);
+        Arrays.fill(words, 0L);
+        if (present) {
+            add(value);
+        }
+        return changed;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int first() {
+        return next(0);
+    }
+
+    @Override
+    public int next(int value) {
+        if (value >= capacity()) {
+            return -1;
+        }
+        int bit = Math.max(value, 0);
+        int index = bit >>> 6;
+        long word = words[index] & (-1L << bit);
+        while (true) {
+            if (word != 0L) {
+                return index * Long.SIZE + Long.numberOfTrailingZeros(word) + 1;
+            }
+            if (++index == words.length) {
+                return -1;
+            }
+            word = words[index];
+        }
+    }
+
+    @Override
+    public boolean addAll(CandidateSet other) {
+        checkCapacity(other);
+        long[] otherWords = ((WordArrayCandidateSet) other).words;
+        boolean changed = false;
+        for (int i = 0; i < words.length; i++) {
+            long old = words[i];
+            words[i] |= otherWords[i];
+            changed |= words[i] != old;
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean removeAll(CandidateSet other) {
+        checkCapacity(other);
+        long[] otherWords = ((WordArrayCandidateSet) other).words;
+        boolean changed = false;
+        for (int i = 0; i < words.length; i++) {
+            long old = words[i];
+            words[i] &= ~otherWords[i];
+            changed |= words[i] != old;
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(CandidateSet other) {
+        checkCapacity(other);
+        long[] otherWords = ((WordArrayCandidateSet) other).words;
+        boolean changed = false;
+        for (int i = 0; i < words.length; i++) {
+            long old = words[i];
+            words[i] &= otherWords[i];
+            changed |= words[i] != old;
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean intersects(CandidateSet other) {
+        checkCapacity(other);
+        long[] otherWords = ((WordArrayCandidateSet) other).words;
+        for (int i = 0; i < words.length; i++) {
+            if ((words[i] & otherWords[i]) != 0L) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void copyFrom(CandidateSet other) {
+        checkCapacity(other);
+        System.arraycopy(((WordArrayCandidateSet) other).words, 0, words, 0, words.length);
+    }
+
+    @Override
+    public CandidateSet copy() {
+        WordArrayCandidateSet copy = new WordArrayCandidateSet(capacity());
+        System.arraycopy(words, 0, copy.words, 0, words.length);
+        return copy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        WordArrayCandidateSet that = (WordArrayCandidateSet) o;
+
+        return capacity() == that.capacity() && Arrays.equals(words, that.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * capacity() + Arrays.hashCode(words);
+    }
+}
@@ -0,0 +1,45 @@
+package net.claves.games.sudokuma.deductions;
+
+public abstract class AbstractDeductionRule implements DeductionRule {
+    private final String name;
+    private final int cost;
+
+    protected AbstractDeductionRule(String name, int cost) {
+        this.name = name;
+        this.cost = cost;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getCost() {
+        return cost;
+    }
+
+    protected static String degreeName(int degree) {
+        switch (degree) {
+            case 2:
+                return "Pair";
+            case 3:
+                return "Triple";
+            case 4:
+                return "Quad";
+            default:
+                return String.valueOf(degree);
+        }
+    }
+
+    protected static void checkDegree(int degree) {
+        if (degree < 2 || degree > 4) {
+            throw new IllegalArgumentException("The degree must be between 2 and 4.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,11 @@
+package net.claves.games.sudokuma.deductions;
+
+import net.claves.games.sudokuma.solvers.ConstraintPropagator;
+
+public interface DeductionRule {
+    String getName();
+
+    int getCost();
+
+    boolean apply(ConstraintPropagator propagator);
+}
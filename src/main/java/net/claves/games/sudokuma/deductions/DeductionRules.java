@@ -0,0 +1,29 @@
+package net.claves.games.sudokuma.deductions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class DeductionRules {
+    private DeductionRules() {
+    }
+
+    public static List<DeductionRule> basic() {
+        List<DeductionRule> rules = new ArrayList<>();
+        rules.add(new LockedCandidatesRule());
+        rules.add(new NakedSubsetRule(2));
+        rules.add(new HiddenSubsetRule(2));
+        return rules;
+    }
+
+    public static List<DeductionRule> all() {
+        List<DeductionRule> rules = basic();
+        rules.add(new NakedSubsetRule(3));
+        rules.add(new HiddenSubsetRule(3));
+        rules.add(new NakedSubsetRule(4));
+        rules.add(new HiddenSubsetRule(4));
+        rules.add(new FishRule(2));
+        rules.add(new FishRule(3));
+        rules.add(new XYWingRule());
+        return rules;
+    }
+}
@@ -0,0 +1,131 @@
+package net.claves.games.sudokuma.deductions;
+
+import net.claves.games.sudokuma.SudokuTopology;
+import net.claves.games.sudokuma.candidates.CandidateSet;
+import net.claves.games.sudokuma.solvers.ConstraintPropagator;
+
+public class FishRule extends AbstractDeductionRule {
+    private final int degree;
+
+    public FishRule(int degree) {
+        super(fishName(degree), 20 + 20 * degree);
+        checkDegree(degree);
+        this.degree = degree;
+    }
+
+    public int getDegree() {
+        return degree;
+    }
+
+    private static String fishName(int degree) {
+        switch (degree) {
+            case 2:
+                return "X-Wing";
+            case 3:
+                return "Swordfish";
+            case 4:
+                return "Jellyfish";
+            default:
+                return "Fish " + degree;
+        }
+    }
+
+    @Override
+    public boolean apply(ConstraintPropagator propagator) {
+        SudokuTopology topology = propagator.getTopology();
+        int size = topology.getSize();
+        CandidateSet[] positions = new CandidateSet[size];
+        for (int line = 0; line < size; line++) {
+            positions[line] = CandidateSet.newInstance(size);
+        }
+        CandidateSet[] unions = new CandidateSet[degree + 1];
+        for (int depth = 0; depth <= degree; depth++) {
+            unions[depth] = CandidateSet.newInstance(size);
+        }
+        int[] members = new int[size];
+        int[] chosen = new int[degree];
+        for (int value = 1; value <= size; value++) {
+            for (int orientation = 0; orientation < 2; orientation++) {
+                int count = 0;
+                int lines = 0;
+                for (int line = 0; line < size; line++) {
+                    positions[line].clear();
+                    for (int cross = 0; cross < size; cross++) {
+                        CandidateSet candidates = propagator.getCandidates(cell(topology, orientation, line, cross));
+                        if (candidates != null && candidates.contains(value)) {
+                            positions[line].add(cross + 1);
+                        }
+                    }
+                    int places = positions[line].size();
+                    if (places > 0) {
+                        lines++;
+                        if (places >= 2 && places <= degree) {
+                            members[count++] = line;
+                        }
+                    }
+                }
+                if (lines > degree && count >= degree && search(propagator, value, orientation, positions,
+                        members, count, chosen, unions, 0, 0)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean search(ConstraintPropagator propagator, int value, int orientation, CandidateSet[] positions,
+                           int[] members, int count, int[] chosen, CandidateSet[] unions, int start, int depth) {
+        if (depth == degree) {
+            return unions[depth].size() == degree
+                    && eliminate(propagator, value, orientation, chosen, unions[depth]);
+        }
+        for (int index = start; index <= count - (degree - depth); index++) {
+            unions[depth + 1].copyFrom(unions[depth]);
+            unions[depth + 1].addAll(positions[members[index]]);
+            if (unions[depth + 1].size() > degree) {
+                continue;
+            }
+            chosen[depth] = members[index];
+            if (search(propagator, value, orientation, positions, members, count, chosen, unions,
+                    index + 1, depth + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean eliminate(ConstraintPropagator propagator, int value, int orientation, int[] chosen,
+                              CandidateSet crosses) {
+        SudokuTopology topology = propagator.getTopology();
+        boolean changed = false;
+        for (int cross = crosses.first(); cross != -1; cross = crosses.next(cross)) {
+            for (int line = 0; line < topology.getSize(); line++) {
+                if (contains(chosen, line)) {
+                    continue;
+                }
+                int cell = cell(topology, orientation, line, cross - 1);
+                CandidateSet candidates = propagator.getCandidates(cell);
+                if (candidates != null && candidates.contains(value)) {
+                    changed = true;
+                    if (!propagator.eliminate(cell, value)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static int cell(SudokuTopology topology, int orientation, int line, int cross) {
+        return orientation == 0 ? topology.cell(line, cross) : topology.cell(cross, line);
+    }
+
+    private static boolean contains(int[] lines, int line) {
+        for (int chosen : lines) {
+            if (chosen == line) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
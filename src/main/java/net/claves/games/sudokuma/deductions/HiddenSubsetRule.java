@@ -0,0 +1,113 @@
+package net.claves.games.sudokuma.deductions;
+
+import net.claves.games.sudokuma.SudokuTopology;
+import net.claves.games.sudokuma.candidates.CandidateSet;
+import net.claves.games.sudokuma.solvers.ConstraintPropagator;
+
+public class HiddenSubsetRule extends AbstractDeductionRule {
+    private final int degree;
+
+    public HiddenSubsetRule(int degree) {
+        super("Hidden " + degreeName(degree), 15 + 10 * degree);
+        checkDegree(degree);
+        this.degree = degree;
+    }
+
+    public int getDegree() {
+        return degree;
+    }
+
+    @Override
+    public boolean apply(ConstraintPropagator propagator) {
+        SudokuTopology topology = propagator.getTopology();
+        int size = topology.getSize();
+        CandidateSet[] positions = new CandidateSet[size + 1];
+        for (int value = 1; value <= size; value++) {
+            positions[value] = CandidateSet.newInstance(size);
+        }
+        CandidateSet[] unions = new CandidateSet[degree + 1];
+        for (int depth = 0; depth <= degree; depth++) {
+            unions[depth] = CandidateSet.newInstance(size);
+        }
+        int[] members = new int[size];
+        int[] chosen = new int[degree];
+        for (int unit = 0; unit < topology.getUnitCount(); unit++) {
+            int[] cells = topology.getUnitCells(unit);
+            for (int value = 1; value <= size; value++) {
+                positions[value].clear();
+            }
+            for (int index = 0; index < cells.length; index++) {
+                CandidateSet candidates = propagator.getCandidates(cells[index]);
+                if (candidates != null) {
+                    for (int value = candidates.first(); value != -1; value = candidates.next(value)) {
+                        positions[value].add(index + 1);
+                    }
+                }
+            }
+            int unplaced = 0;
+            int count = 0;
+            for (int value = 1; value <= size; value++) {
+                int places = positions[value].size();
+                if (places > 0) {
+                    unplaced++;
+                    if (places >= 2 && places <= degree) {
+                        members[count++] = value;
+                    }
+                }
+            }
+            if (unplaced > degree && count >= degree
+                    && search(propagator, cells, positions, members, count, chosen, unions, 0, 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean search(ConstraintPropagator propagator, int[] cells, CandidateSet[] positions, int[] members,
+                           int count, int[] chosen, CandidateSet[] unions, int start, int depth) {
+        if (depth == degree) {
+            return unions[depth].size() == degree && eliminate(propagator, cells, chosen, unions[depth]);
+        }
+        for (int index = start; index <= count - (degree - depth); index++) {
+            unions[depth + 1].copyFrom(unions[depth]);
+            unions[depth + 1].addAll(positions[members[index]]);
+            if (unions[depth + 1].size() > degree) {
+                continue;
+            }
+            chosen[depth] = members[index];
+            if (search(propagator, cells, positions, members, count, chosen, unions, index + 1, depth + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean eliminate(ConstraintPropagator propagator, int[] cells, int[] chosen, CandidateSet places) {
+        boolean changed = false;
+        for (int place = places.first(); place != -1; place = places.next(place)) {
+            int cell = cells[place - 1];
+            CandidateSet candidates = propagator.getCandidates(cell);
+            if (candidates == null) {
+                continue;
+            }
+            for (int value = candidates.first(); value != -1; value = candidates.next(value)) {
+                if (!contains(chosen, value)) {
+                    changed = true;
+                    if (!propagator.eliminate(cell, value)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int chosen : values) {
+            if (chosen == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,66 @@
+package net.claves.games.sudokuma.deductions;
+
+import net.claves.games.sudokuma.SudokuTopology;
+import net.claves.games.sudokuma.candidates.CandidateSet;
+import net.claves.games.sudokuma.solvers.ConstraintPropagator;
+
+public class LockedCandidatesRule extends AbstractDeductionRule {
+    public static final int COST = 20;
+
+    public LockedCandidatesRule() {
+        super("Locked Candidates", COST);
+    }
+
+    @Override
+    public boolean apply(ConstraintPropagator propagator) {
+        SudokuTopology topology = propagator.getTopology();
+        if (!topology.hasRegions()) {
+            return false;
+        }
+        int size = topology.getSize();
+        int[] common = new int[3];
+        boolean[] shared = new boolean[3];
+        for (int unit = 0; unit < topology.getUnitCount(); unit++) {
+            for (int value = 1; value <= size; value++) {
+                int count = 0;
+                for (int cell : topology.getUnitCells(unit)) {
+                    CandidateSet candidates = propagator.getCandidates(cell);
+                    if (candidates == null || !candidates.contains(value)) {
+                        continue;
+                    }
+                    int[] cellUnits = topology.getCellUnits(cell);
+                    for (int type = 0; type < 3; type++) {
+                        if (count == 0) {
+                            common[type] = cellUnits[type];
+                            shared[type] = true;
+                        } else {
+                            shared[type] &= common[type] == cellUnits[type];
+                        }
+                    }
+                    count++;
+                }
+                if (count < 2) {
+                    continue;
+                }
+                boolean changed = false;
+                for (int type = 0; type < 3; type++) {
+                    if (shared[type] && common[type] != unit) {
+                        for (int cell : topology.getUnitCells(common[type])) {
+                            CandidateSet candidates = propagator.getCandidates(cell);
+                            if (candidates != null && candidates.contains(value) && !topology.unitContains(unit, cell)) {
+                                changed = true;
+                                if (!propagator.eliminate(cell, value)) {
+                                    return true;
+                                }
+                            }
+                        }
+                    }
+                }
+                if (changed) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
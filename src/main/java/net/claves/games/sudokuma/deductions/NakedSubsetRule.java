@@ -0,0 +1,96 @@
+package net.claves.games.sudokuma.deductions;
+
+import net.claves.games.sudokuma.SudokuTopology;
+import net.claves.games.sudokuma.candidates.CandidateSet;
+import net.claves.games.sudokuma.solvers.ConstraintPropagator;
+
+public class NakedSubsetRule extends AbstractDeductionRule {
+    private final int degree;
+
+    public NakedSubsetRule(int degree) {
+        super("Naked " + degreeName(degree), 10 + 10 * degree);
+        checkDegree(degree);
+        this.degree = degree;
+    }
+
+    public int getDegree() {
+        return degree;
+    }
+
+    @Override
+    public boolean apply(ConstraintPropagator propagator) {
+        SudokuTopology topology = propagator.getTopology();
+        int size = topology.getSize();
+        CandidateSet[] unions = new CandidateSet[degree + 1];
+        for (int depth = 0; depth <= degree; depth++) {
+            unions[depth] = CandidateSet.newInstance(size);
+        }
+        int[] members = new int[size];
+        int[] chosen = new int[degree];
+        for (int unit = 0; unit < topology.getUnitCount(); unit++) {
+            int unsolved = 0;
+            int count = 0;
+            for (int cell : topology.getUnitCells(unit)) {
+                CandidateSet candidates = propagator.getCandidates(cell);
+                if (candidates != null) {
+                    unsolved++;
+                    if (candidates.size() <= degree) {
+                        members[count++] = cell;
+                    }
+                }
+            }
+            if (unsolved > degree && count >= degree
+                    && search(propagator, unit, members, count, chosen, unions, 0, 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean search(ConstraintPropagator propagator, int unit, int[] members, int count, int[] chosen,
+                           CandidateSet[] unions, int start, int depth) {
+        if (depth == degree) {
+            return unions[depth].size() == degree && eliminate(propagator, unit, chosen, unions[depth]);
+        }
+        for (int index = start; index <= count - (degree - depth); index++) {
+            unions[depth + 1].copyFrom(unions[depth]);
+            unions[depth + 1].addAll(propagator.getCandidates(members[index]));
+            if (unions[depth + 1].size() > degree) {
+                continue;
+            }
+            chosen[depth] = members[index];
+            if (search(propagator, unit, members, count, chosen, unions, index + 1, depth + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean eliminate(ConstraintPropagator propagator, int unit, int[] chosen, CandidateSet values) {
+        boolean changed = false;
+        for (int cell : propagator.getTopology().getUnitCells(unit)) {
+            CandidateSet candidates = propagator.getCandidates(cell);
+            if (candidates == null || contains(chosen, cell) || !candidates.intersects(values)) {
+                continue;
+            }
+            for (int value = values.first(); value != -1; value = values.next(value)) {
+                if (candidates.contains(value)) {
+                    changed = true;
+                    if (!propagator.eliminate(cell, value)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static boolean contains(int[] cells, int cell) {
+        for (int chosen : cells) {
+            if (chosen == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
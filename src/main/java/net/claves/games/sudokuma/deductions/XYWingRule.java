@@ -0,0 +1,63 @@
+package net.claves.games.sudokuma.deductions;
+
+import net.claves.games.sudokuma.SudokuTopology;
+import net.claves.games.sudokuma.candidates.CandidateSet;
+import net.claves.games.sudokuma.solvers.ConstraintPropagator;
+
+public class XYWingRule extends AbstractDeductionRule {
+    public static final int COST = 70;
+
+    public XYWingRule() {
+        super("XY-Wing", COST);
+    }
+
+    @Override
+    public boolean apply(ConstraintPropagator propagator) {
+        SudokuTopology topology = propagator.getTopology();
+        for (int pivot = 0; pivot < topology.getCellCount(); pivot++) {
+            CandidateSet candidates = propagator.getCandidates(pivot);
+            if (candidates == null || candidates.size() != 2) {
+                continue;
+            }
+            int x = candidates.first();
+            int y = candidates.next(x);
+            for (int first : topology.getPeers(pivot)) {
+                CandidateSet firstCandidates = propagator.getCandidates(first);
+                if (firstCandidates == null || firstCandidates.size() != 2
+                        || !firstCandidates.contains(x) || firstCandidates.contains(y)) {
+                    continue;
+                }
+                int z = firstCandidates.first() == x ? firstCandidates.next(x) : firstCandidates.first();
+                for (int second : topology.getPeers(pivot)) {
+                    CandidateSet secondCandidates = propagator.getCandidates(second);
+                    if (secondCandidates == null || secondCandidates.size() != 2
+                            || !secondCandidates.contains(y) || !secondCandidates.contains(z)) {
+                        continue;
+                    }
+                    if (eliminate(propagator, first, second, z)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean eliminate(ConstraintPropagator propagator, int first, int second, int value) {
+        SudokuTopology topology = propagator.getTopology();
+        boolean changed = false;
+        for (int cell : topology.getPeers(first)) {
+            if (cell == second || !topology.isPeer(second, cell)) {
+                continue;
+            }
+            CandidateSet candidates = propagator.getCandidates(cell);
+            if (candidates != null && candidates.contains(value)) {
+                changed = true;
+                if (!propagator.eliminate(cell, value)) {
+                    return true;
+                }
+            }
+        }
+        return changed;
+    }
+}
@@ -6,7 +6,7 @@ public class SudokuException extends RuntimeException {
     private SudokuGrid sudokuGrid;
 
     public SudokuException(SudokuGrid sudokuGrid, String message) {
-        super(message);
+        super(message, null, false, false);
         this.sudokuGrid = sudokuGrid;
     }
 
@@ -0,0 +1,174 @@
+package net.claves.games.sudokuma.io;
+
+import net.claves.games.sudokuma.SudokuGrid;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class SudokuFileReader implements Iterable<SudokuGrid>, Closeable {
+    private static final long DEFAULT_MAPPING_SIZE = 64L << 20;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long mappingSize;
+
+    private MappedByteBuffer buffer;
+    private long bufferStart;
+    private long position;
+    private long lineNumber;
+
+    public SudokuFileReader(Path path) throws IOException {
+        this(path, DEFAULT_MAPPING_SIZE);
+    }
+
+    public SudokuFileReader(Path path, long mappingSize) throws IOException {
+        if (mappingSize < 1 || mappingSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The mapping size must be between 1 and " + Integer.MAX_VALUE + ".");
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.mappingSize = mappingSize;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public SudokuGrid read() throws IOException {
+        while (position < fileSize) {
+            long lineStart = position;
+            long lineEnd = findLineEnd(lineStart);
+            position = lineEnd + 1;
+            lineNumber++;
+
+            int start = (int) (lineStart - bufferStart);
+            int end = (int) (lineEnd - bufferStart);
+            while (start < end && isWhitespace(buffer.get(start))) {
+                start++;
+            }
+            if (start == end || buffer.get(start) == '#') {
+                continue;
+            }
+            int tokenEnd = start;
+            while (tokenEnd < end && !isSeparator(buffer.get(tokenEnd))) {
+                tokenEnd++;
+            }
+            return parse(start, tokenEnd);
+        }
+        return null;
+    }
+
+    private SudokuGrid parse(int start, int end) {
+        int size = SudokuFormat.sizeForLength(end - start);
+        if (size == -1) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": a puzzle must contain a square number of cells, found " + (end - start) + ".");
+        }
+        if (SudokuFormat.cellWidth(size) > 1) {
+            byte[] symbols = new byte[end - start];
+            for (int index = start; index < end; index++) {
+                symbols[index - start] = buffer.get(index);
+            }
+            try {
+                return SudokuFormat.parse(new String(symbols, StandardCharsets.US_ASCII));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        SudokuGrid sudokuGrid = new SudokuGrid(size);
+        try {
+            for (int index = start; index < end; index++) {
+                SudokuFormat.putSymbol(sudokuGrid, index - start, buffer.get(index));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+        }
+        return sudokuGrid;
+    }
+
+    private long findLineEnd(long lineStart) throws IOException {
+        map(lineStart, false);
+        while (true) {
+            int limit = buffer.limit();
+            for (int index = (int) (lineStart - bufferStart); index < limit; index++) {
+                if (buffer.get(index) == '\n') {
+                    return bufferStart + index;
+                }
+            }
+            if (bufferStart + limit >= fileSize) {
+                return fileSize;
+            }
+            if (bufferStart == lineStart) {
+                throw new IllegalArgumentException("Line " + (lineNumber + 1) + " is longer than the mapping size.");
+            }
+            map(lineStart, true);
+        }
+    }
+
+    private void map(long start, boolean force) throws IOException {
+        if (!force && buffer != null && start >= bufferStart && start < bufferStart + buffer.limit()) {
+            return;
+        }
+        bufferStart = start;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(mappingSize, fileSize - start));
+    }
+
+    private static boolean isWhitespace(byte symbol) {
+        return symbol == ' ' || symbol == '\t' || symbol == '\r';
+    }
+
+    private static boolean isSeparator(byte symbol) {
+        return isWhitespace(symbol) || symbol == ',' || symbol == ';';
+    }
+
+    @Override
+    public Iterator<SudokuGrid> iterator() {
+        return new Iterator<SudokuGrid>() {
+            private SudokuGrid next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = read();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public SudokuGrid next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                SudokuGrid sudokuGrid = next;
+                next = null;
+                return sudokuGrid;
+            }
+        };
+    }
+
+    public Stream<SudokuGrid> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        channel.close();
+    }
+}
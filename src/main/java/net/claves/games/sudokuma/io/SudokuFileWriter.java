@@ -0,0 +1,73 @@
+package net.claves.games.sudokuma.io;
+
+import net.claves.games.sudokuma.SudokuGrid;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class SudokuFileWriter implements Closeable, Flushable {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+
+    public SudokuFileWriter(Path path) throws IOException {
+        this(path, DEFAULT_BUFFER_SIZE);
+    }
+
+    public SudokuFileWriter(Path path, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    public void write(SudokuGrid sudokuGrid) throws IOException {
+        int size = sudokuGrid.getSize();
+        int width = SudokuFormat.cellWidth(size);
+        int length = size * size * width + 1;
+        if (length > buffer.capacity()) {
+            throw new IllegalArgumentException("The buffer is too small for a grid of size " + size + ".");
+        }
+        if (buffer.remaining() < length) {
+            drain();
+        }
+        if (width > 1) {
+            buffer.put(SudokuFormat.format(sudokuGrid).getBytes(StandardCharsets.US_ASCII));
+        } else {
+            for (int row = 0; row < size; row++) {
+                for (int column = 0; column < size; column++) {
+                    buffer.put((byte) SudokuFormat.encode(sudokuGrid.get(row, column).getValue()));
+                }
+            }
+        }
+        buffer.put((byte) '\n');
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package net.claves.games.sudokuma.io;
+
+import net.claves.games.Grid;
+import net.claves.games.sudokuma.CompactSudokuGrid;
+import net.claves.games.sudokuma.SudokuGrid;
+
+public final class SudokuFormat {
+    public static final String SYMBOLS = "123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    public static final char BLANK = '.';
+    public static final int MAX_SIZE = CompactSudokuGrid.MAX_SIZE;
+
+    private SudokuFormat() {
+    }
+
+    public static int cellWidth(int size) {
+        return size <= SYMBOLS.length() ? 1 : Integer.toString(size).length();
+    }
+
+    public static int sizeForLength(int length) {
+        for (int width = 1; width <= cellWidth(MAX_SIZE); width++) {
+            if (length % width != 0) {
+                continue;
+            }
+            int size = (int) Math.round(Math.sqrt(length / width));
+            if (size >= 1 && size <= MAX_SIZE && size * size == length / width && cellWidth(size) == width) {
+                return size;
+            }
+        }
+        return -1;
+    }
+
+    public static int decode(int symbol, int size) {
+        if (symbol == BLANK || symbol == '0') {
+            return 0;
+        }
+        int value;
+        if (symbol >= '1' && symbol <= '9') {
+            value = symbol - '0';
+        } else if (symbol >= 'A' && symbol <= 'Z') {
+            value = symbol - 'A' + 10;
+        } else if (symbol >= 'a' && symbol <= 'z') {
+            value = symbol - 'a' + 10;
+        } else {
+            return -1;
+        }
+        return value <= size ? value : -1;
+    }
+
+    public static int decode(CharSequence symbol, int size) {
+        if (symbol.length() == 1) {
+            return decode(symbol.charAt(0), size);
+        }
+        int value = 0;
+        int blanks = 0;
+        for (int index = 0; index < symbol.length(); index++) {
+            char digit = symbol.charAt(index);
+            if (digit == BLANK) {
+                blanks++;
+            } else if (digit >= '0' && digit <= '9') {
+                value = value * 10 + digit - '0';
+            } else {
+                return -1;
+            }
+        }
+        if (blanks == symbol.length()) {
+            return 0;
+        }
+        return blanks == 0 && value <= size ? value : -1;
+    }
+
+    public static char encode(Integer value) {
+        return value == null ? BLANK : SYMBOLS.charAt(value - 1);
+    }
+
+    public static void append(StringBuilder stringBuilder, Integer value, int size) {
+        int width = cellWidth(size);
+        if (width == 1) {
+            stringBuilder.append(encode(value));
+        } else if (value == null) {
+            for (int index = 0; index < width; index++) {
+                stringBuilder.append(BLANK);
+            }
+        } else {
+            String digits = Integer.toString(value);
+            for (int index = digits.length(); index < width; index++) {
+                stringBuilder.append('0');
+            }
+            stringBuilder.append(digits);
+        }
+    }
+
+    public static SudokuGrid parse(CharSequence line) {
+        int size = sizeForLength(line.length());
+        if (size == -1) {
+            throw new IllegalArgumentException("A puzzle line must contain a square number of cells, found " + line.length() + ".");
+        }
+        SudokuGrid sudokuGrid = new SudokuGrid(size);
+        int width = cellWidth(size);
+        if (width == 1) {
+            for (int cell = 0; cell < line.length(); cell++) {
+                putSymbol(sudokuGrid, cell, line.charAt(cell));
+            }
+        } else {
+            for (int cell = 0; cell < size * size; cell++) {
+                CharSequence symbol = line.subSequence(cell * width, (cell + 1) * width);
+                int value = decode(symbol, size);
+                if (value == -1) {
+                    throw new IllegalArgumentException("Invalid symbol '" + symbol + "' for a grid of size " + size + ".");
+                }
+                putValue(sudokuGrid, cell, value);
+            }
+        }
+        return sudokuGrid;
+    }
+
+    static void putSymbol(SudokuGrid sudokuGrid, int cell, int symbol) {
+        int size = sudokuGrid.getSize();
+        int value = decode(symbol, size);
+        if (value == -1) {
+            throw new IllegalArgumentException("Invalid symbol '" + (char) symbol + "' for a grid of size " + size + ".");
+        }
+        putValue(sudokuGrid, cell, value);
+    }
+
+    private static void putValue(SudokuGrid sudokuGrid, int cell, int value) {
+        if (value > 0) {
+            sudokuGrid.put(cell, new SudokuGrid.GivenItem(value, sudokuGrid.getPosition(cell)));
+        }
+    }
+
+    public static String format(SudokuGrid sudokuGrid) {
+        int size = sudokuGrid.getSize();
+        StringBuilder stringBuilder = new StringBuilder(size * size * cellWidth(size));
+        for (Grid.Item item : sudokuGrid) {
+            append(stringBuilder, (Integer) item.getValue(), size);
+        }
+        return stringBuilder.toString();
+    }
+}
@@ -0,0 +1,435 @@
+package net.claves.games.sudokuma.solvers;
+
+import net.claves.games.Grid;
+import net.claves.games.sudokuma.CancellationToken;
+import net.claves.games.sudokuma.SolutionCount;
+import net.claves.games.sudokuma.SolveOptions;
+import net.claves.games.sudokuma.SolveResult;
+import net.claves.games.sudokuma.SolveStats;
+import net.claves.games.sudokuma.SolveStatus;
+import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.SudokuSolver;
+import net.claves.games.sudokuma.SudokuTopology;
+import net.claves.games.sudokuma.exceptions.MultipleSolutionsException;
+import net.claves.games.sudokuma.exceptions.UnsolvableSudokuException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class BitboardSolver implements SudokuSolver {
+    public static final int SIZE = 9;
+
+    private static final int CELLS = SIZE * SIZE;
+    private static final int HIGH = SIZE;
+    private static final int SOLVED_LOW = 2 * SIZE;
+    private static final int SOLVED_HIGH = 2 * SIZE + 1;
+    private static final int STATE = 2 * SIZE + 2;
+    private static final long FULL_LOW = -1L;
+    private static final long FULL_HIGH = (1L << (CELLS - 64)) - 1;
+
+    private static final long[] PEERS_LOW = new long[CELLS];
+    private static final long[] PEERS_HIGH = new long[CELLS];
+    private static final long[] UNITS_LOW;
+    private static final long[] UNITS_HIGH;
+
+    static {
+        SudokuTopology topology = SudokuTopology.forSize(SIZE);
+        for (int cell = 0; cell < CELLS; cell++) {
+            for (int peer : topology.getPeers(cell)) {
+                if (peer < 64) {
+                    PEERS_LOW[cell] |= 1L << peer;
+                } else {
+                    PEERS_HIGH[cell] |= 1L << (peer - 64);
+                }
+            }
+        }
+        UNITS_LOW = new long[topology.getUnitCount()];
+        UNITS_HIGH = new long[topology.getUnitCount()];
+        for (int unit = 0; unit < UNITS_LOW.length; unit++) {
+            for (int cell : topology.getUnitCells(unit)) {
+                if (cell < 64) {
+                    UNITS_LOW[unit] |= 1L << cell;
+                } else {
+                    UNITS_HIGH[unit] |= 1L << (cell - 64);
+                }
+            }
+        }
+    }
+
+    private SudokuSolver fallback;
+
+    public BitboardSolver() {
+        this(new SudokuSolverImpl());
+    }
+
+    public BitboardSolver(SudokuSolver fallback) {
+        this.fallback = fallback;
+    }
+
+    public SudokuSolver getFallback() {
+        return fallback;
+    }
+
+    public void setFallback(SudokuSolver fallback) {
+        this.fallback = fallback;
+    }
+
+    public static boolean supports(SudokuGrid sudokuGrid) {
+        return sudokuGrid.getSize() == SIZE;
+    }
+
+    @Override
+    public SudokuGrid solve(SudokuGrid sudokuGrid) {
+        if (!supports(sudokuGrid)) {
+            return fallback.solve(sudokuGrid);
+        }
+        return solveGrid(sudokuGrid, new Search(2, 2, null, null));
+    }
+
+    @Override
+    public SudokuGrid solve(SudokuGrid sudokuGrid, SolveStats solveStats) {
+        if (!supports(sudokuGrid)) {
+            return fallback.solve(sudokuGrid, solveStats);
+        }
+        long wallTime = System.nanoTime();
+        long cpuTime = SolveStats.currentThreadCpuTime();
+        SolveStats stats = new SolveStats();
+        try {
+            return solveGrid(sudokuGrid, new Search(2, 2, null, stats));
+        } finally {
+            stats.recordSolve(System.nanoTime() - wallTime, SolveStats.currentThreadCpuTime() - cpuTime);
+            if (solveStats != null) {
+                solveStats.add(stats);
+            }
+        }
+    }
+
+    @Override
+    public SolveResult solve(SudokuGrid sudokuGrid, SolveOptions solveOptions) {
+        if (!supports(sudokuGrid)) {
+            return fallback.solve(sudokuGrid, solveOptions);
+        }
+        Search search = new Search(2, 2, solveOptions, null);
+        search.run(sudokuGrid);
+        if (search.status != null) {
+            return new SolveResult(search.status, sudokuGrid);
+        }
+        if (search.count > 1) {
+            return new SolveResult(SolveStatus.MULTIPLE_SOLUTIONS, sudokuGrid);
+        }
+        if (search.count == 0 || !fill(sudokuGrid, search.solutions.get(0))) {
+            return new SolveResult(SolveStatus.UNSOLVABLE, sudokuGrid);
+        }
+        return new SolveResult(SolveStatus.SOLVED, sudokuGrid);
+    }
+
+    @Override
+    public SolutionCount countSolutions(SudokuGrid sudokuGrid, int limit, int maxSolutions) {
+        if (!supports(sudokuGrid)) {
+            return fallback.countSolutions(sudokuGrid, limit, maxSolutions);
+        }
+        if (limit <= 0) {
+            return new SolutionCount(0, limit, Collections.<SudokuGrid>emptyList());
+        }
+        Search search = new Search(limit, maxSolutions, null, null);
+        search.run(sudokuGrid);
+        List<SudokuGrid> solvedGrids = new ArrayList<>();
+        for (int[] solution : search.solutions) {
+            SudokuGrid solvedGrid = sudokuGrid.copy();
+            fill(solvedGrid, solution);
+            solvedGrids.add(solvedGrid);
+        }
+        return new SolutionCount(search.count, limit, solvedGrids);
+    }
+
+    private static SudokuGrid solveGrid(SudokuGrid sudokuGrid, Search search) {
+        search.run(sudokuGrid);
+        if (search.count == 0) {
+            throw new UnsolvableSudokuException(sudokuGrid, "Cannot find a valid solution!");
+        }
+        if (search.count > 1) {
+            Set<SudokuGrid> solvedGrids = new HashSet<>();
+            for (int[] solution : search.solutions) {
+                SudokuGrid solvedGrid = sudokuGrid.copy();
+                fill(solvedGrid, solution);
+                solvedGrids.add(solvedGrid);
+            }
+            throw new MultipleSolutionsException(sudokuGrid, solvedGrids);
+        }
+        if (!fill(sudokuGrid, search.solutions.get(0))) {
+            throw new UnsolvableSudokuException(sudokuGrid, "Cannot find a valid solution!");
+        }
+        return sudokuGrid;
+    }
+
+    private static boolean fill(SudokuGrid sudokuGrid, int[] solution) {
+        for (int cell = 0; cell < CELLS; cell++) {
+            Grid.Item<Integer> item = sudokuGrid.get(cell);
+            if (item instanceof SudokuGrid.VariableItem) {
+                ((SudokuGrid.VariableItem) item).solve(solution[cell]);
+            }
+        }
+        return sudokuGrid.solved();
+    }
+
+    private static class Search {
+        private final long[] stack = new long[(CELLS + 1) * STATE];
+        private final int limit;
+        private final int maxSolutions;
+        private final SolveStats stats;
+        private final long maxNodes;
+        private final boolean hasDeadline;
+        private final long deadline;
+        private final CancellationToken cancellationToken;
+        private final List<int[]> solutions = new ArrayList<>();
+
+        private long nodes;
+        private int count;
+        private SolveStatus status;
+
+        private Search(int limit, int maxSolutions, SolveOptions solveOptions, SolveStats stats) {
+            this.limit = limit;
+            this.maxSolutions = maxSolutions;
+            this.stats = stats;
+            if (solveOptions == null) {
+                this.maxNodes = 0;
+                this.hasDeadline = false;
+                this.deadline = 0;
+                this.cancellationToken = null;
+            } else {
+                this.maxNodes = solveOptions.getMaxNodes();
+                this.hasDeadline = solveOptions.hasTimeout();
+                this.deadline = hasDeadline ? System.nanoTime() + solveOptions.getTimeoutNanos() : 0;
+                this.cancellationToken = solveOptions.getCancellationToken();
+            }
+        }
+
+        private void run(SudokuGrid sudokuGrid) {
+            if (load(sudokuGrid) && propagate(0)) {
+                search(0);
+            }
+        }
+
+        private boolean load(SudokuGrid sudokuGrid) {
+            for (int digit = 0; digit < SIZE; digit++) {
+                stack[digit] = FULL_LOW;
+                stack[HIGH + digit] = FULL_HIGH;
+            }
+            for (int cell = 0; cell < CELLS; cell++) {
+                Integer value = sudokuGrid.get(cell).getValue();
+                if (value != null && (value < 1 || value > SIZE || !place(0, cell, value - 1))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean search(int depth) {
+            if (isLimitReached()) {
+                return true;
+            }
+            if (stats != null) {
+                stats.recordNode(depth);
+            }
+            int base = depth * STATE;
+            if (stack[base + SOLVED_LOW] == FULL_LOW && stack[base + SOLVED_HIGH] == FULL_HIGH) {
+                if (solutions.size() < maxSolutions) {
+                    solutions.add(values(base));
+                }
+                return ++count >= limit;
+            }
+
+            int cell = selectCell(base);
+            int next = base + STATE;
+            for (int candidates = candidates(base, cell); candidates != 0; candidates &= candidates - 1) {
+                int digit = Integer.numberOfTrailingZeros(candidates);
+                System.arraycopy(stack, base, stack, next, STATE);
+                if (stats != null) {
+                    stats.recordGuess();
+                }
+                if (place(next, cell, digit) && propagate(next) && search(depth + 1)) {
+                    return true;
+                }
+                if (stats != null) {
+                    stats.recordBacktrack();
+                }
+            }
+            return false;
+        }
+
+        private boolean isLimitReached() {
+            nodes++;
+            if (cancellationToken != null && cancellationToken.isCancelled()) {
+                status = SolveStatus.CANCELLED;
+            } else if (maxNodes > 0 && nodes > maxNodes) {
+                status = SolveStatus.BUDGET_EXCEEDED;
+            } else if (hasDeadline && System.nanoTime() - deadline > 0) {
+                status = SolveStatus.TIMED_OUT;
+            }
+            return status != null;
+        }
+
+        private boolean place(int base, int cell, int digit) {
+            long low = cell < 64 ? 1L << cell : 0;
+            long high = cell < 64 ? 0 : 1L << (cell - 64);
+            if ((stack[base + digit] & low) == 0 && (stack[base + HIGH + digit] & high) == 0) {
+                return false;
+            }
+            for (int other = 0; other < SIZE; other++) {
+                stack[base + other] &= ~low;
+                stack[base + HIGH + other] &= ~high;
+            }
+            stack[base + digit] = (stack[base + digit] & ~PEERS_LOW[cell]) | low;
+            stack[base + HIGH + digit] = (stack[base + HIGH + digit] & ~PEERS_HIGH[cell]) | high;
+            stack[base + SOLVED_LOW] |= low;
+            stack[base + SOLVED_HIGH] |= high;
+            return true;
+        }
+
+        private boolean propagate(int base) {
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                if (stats != null) {
+                    stats.recordPropagation();
+                }
+
+                long anyLow = 0;
+                long manyLow = 0;
+                long anyHigh = 0;
+                long manyHigh = 0;
+                for (int digit = 0; digit < SIZE; digit++) {
+                    manyLow |= anyLow & stack[base + digit];
+                    anyLow |= stack[base + digit];
+                    manyHigh |= anyHigh & stack[base + HIGH + digit];
+                    anyHigh |= stack[base + HIGH + digit];
+                }
+                long openLow = ~stack[base + SOLVED_LOW];
+                long openHigh = FULL_HIGH & ~stack[base + SOLVED_HIGH];
+                if ((openLow & ~anyLow) != 0 || (openHigh & ~anyHigh) != 0) {
+                    return false;
+                }
+                for (long singles = openLow & ~manyLow; singles != 0; singles &= singles - 1) {
+                    if (!placeSingle(base, Long.numberOfTrailingZeros(singles))) {
+                        return false;
+                    }
+                    changed = true;
+                }
+                for (long singles = openHigh & ~manyHigh; singles != 0; singles &= singles - 1) {
+                    if (!placeSingle(base, 64 + Long.numberOfTrailingZeros(singles))) {
+                        return false;
+                    }
+                    changed = true;
+                }
+                if (changed) {
+                    continue;
+                }
+
+                for (int digit = 0; digit < SIZE; digit++) {
+                    for (int unit = 0; unit < UNITS_LOW.length; unit++) {
+                        long low = stack[base + digit] & UNITS_LOW[unit];
+                        long high = stack[base + HIGH + digit] & UNITS_HIGH[unit];
+                        if (low == 0 && high == 0) {
+                            return false;
+                        }
+                        if (Long.bitCount(low) + Long.bitCount(high) != 1) {
+                            continue;
+                        }
+                        if ((low & ~stack[base + SOLVED_LOW]) != 0 || (high & ~stack[base + SOLVED_HIGH]) != 0) {
+                            int cell = low != 0 ? Long.numberOfTrailingZeros(low) : 64 + Long.numberOfTrailingZeros(high);
+                            if (!place(base, cell, digit)) {
+                                return false;
+                            }
+                            if (stats != null) {
+                                stats.recordDeduction(SolveStats.HIDDEN_SINGLE);
+                            }
+                            changed = true;
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        private boolean placeSingle(int base, int cell) {
+            int candidates = candidates(base, cell);
+            if (candidates == 0 || !place(base, cell, Integer.numberOfTrailingZeros(candidates))) {
+                return false;
+            }
+            if (stats != null) {
+                stats.recordDeduction(SolveStats.NAKED_SINGLE);
+            }
+            return true;
+        }
+
+        private int selectCell(int base) {
+            long anyLow = 0;
+            long manyLow = 0;
+            long mostLow = 0;
+            long anyHigh = 0;
+            long manyHigh = 0;
+            long mostHigh = 0;
+            for (int digit = 0; digit < SIZE; digit++) {
+                mostLow |= manyLow & stack[base + digit];
+                manyLow |= anyLow & stack[base + digit];
+                anyLow |= stack[base + digit];
+                mostHigh |= manyHigh & stack[base + HIGH + digit];
+                manyHigh |= anyHigh & stack[base + HIGH + digit];
+                anyHigh |= stack[base + HIGH + digit];
+            }
+            long pairsLow = ~stack[base + SOLVED_LOW] & manyLow & ~mostLow;
+            if (pairsLow != 0) {
+                return Long.numberOfTrailingZeros(pairsLow);
+            }
+            long pairsHigh = FULL_HIGH & ~stack[base + SOLVED_HIGH] & manyHigh & ~mostHigh;
+            if (pairsHigh != 0) {
+                return 64 + Long.numberOfTrailingZeros(pairsHigh);
+            }
+
+            int best = -1;
+            int bestCount = SIZE + 1;
+            for (int cell = 0; cell < CELLS; cell++) {
+                if (isSolved(base, cell)) {
+                    continue;
+                }
+                int count = Integer.bitCount(candidates(base, cell));
+                if (count < bestCount) {
+                    best = cell;
+                    bestCount = count;
+                }
+            }
+            return best;
+        }
+
+        private boolean isSolved(int base, int cell) {
+            return cell < 64
+                    ? (stack[base + SOLVED_LOW] & (1L << cell)) != 0
+                    : (stack[base + SOLVED_HIGH] & (1L << (cell - 64))) != 0;
+        }
+
+        private int candidates(int base, int cell) {
+            int candidates = 0;
+            if (cell < 64) {
+                for (int digit = 0; digit < SIZE; digit++) {
+                    candidates |= (int) ((stack[base + digit] >>> cell) & 1) << digit;
+                }
+            } else {
+                for (int digit = 0; digit < SIZE; digit++) {
+                    candidates |= (int) ((stack[base + HIGH + digit] >>> (cell - 64)) & 1) << digit;
+                }
+            }
+            return candidates;
+        }
+
+        private int[] values(int base) {
+            int[] values = new int[CELLS];
+            for (int cell = 0; cell < CELLS; cell++) {
+                values[cell] = Integer.numberOfTrailingZeros(candidates(base, cell)) + 1;
+            }
+            return values;
+        }
+    }
+}
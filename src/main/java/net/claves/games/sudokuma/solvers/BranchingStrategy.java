@@ -0,0 +1,9 @@
+package net.claves.games.sudokuma.solvers;
+
+import net.claves.games.sudokuma.SudokuGrid;
+
+public interface BranchingStrategy {
+    SudokuGrid.VariableItem selectVariable(SudokuGrid sudokuGrid);
+
+    int[] orderValues(SudokuGrid sudokuGrid, SudokuGrid.VariableItem variableItem);
+}
@@ -0,0 +1,191 @@
+package net.claves.games.sudokuma.solvers;
+
+import net.claves.games.Grid;
+import net.claves.games.sudokuma.CanonicalForm;
+import net.claves.games.sudokuma.SolutionCount;
+import net.claves.games.sudokuma.SolveOptions;
+import net.claves.games.sudokuma.SolveResult;
+import net.claves.games.sudokuma.SolveStats;
+import net.claves.games.sudokuma.SolveStatus;
+import net.claves.games.sudokuma.SudokuCanonicalizer;
+import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.SudokuSolver;
+import net.claves.games.sudokuma.io.SudokuFormat;
+
+import java.util.concurrent.TimeUnit;
+
+public class CachingSudokuSolver implements SudokuSolver {
+    private final SudokuSolver sudokuSolver;
+    private final SolutionCache solutionCache;
+    private SudokuCanonicalizer canonicalizer = new SudokuCanonicalizer();
+
+    public CachingSudokuSolver() {
+        this(new SudokuSolverImpl());
+    }
+
+    public CachingSudokuSolver(SudokuSolver sudokuSolver) {
+        this(sudokuSolver, new SolutionCache());
+    }
+
+    public CachingSudokuSolver(SudokuSolver sudokuSolver, SolutionCache solutionCache) {
+        this.sudokuSolver = sudokuSolver;
+        this.solutionCache = solutionCache;
+    }
+
+    public SudokuSolver getSudokuSolver() {
+        return sudokuSolver;
+    }
+
+    public SolutionCache getSolutionCache() {
+        return solutionCache;
+    }
+
+    public SudokuCanonicalizer getCanonicalizer() {
+        return canonicalizer;
+    }
+
+    public void setCanonicalizer(SudokuCanonicalizer canonicalizer) {
+        this.canonicalizer = canonicalizer;
+    }
+
+    @Override
+    public SudokuGrid solve(SudokuGrid sudokuGrid) {
+        String key = exactKey(sudokuGrid);
+        if (key == null) {
+            return sudokuSolver.solve(sudokuGrid);
+        }
+        if (applyCachedSolution(sudokuGrid, key, null)) {
+            return sudokuGrid;
+        }
+        CanonicalForm canonicalForm = canonicalize(sudokuGrid, null);
+        if (applyCachedSolution(sudokuGrid, key, canonicalForm)) {
+            return sudokuGrid;
+        }
+
+        SudokuGrid solvedGrid = sudokuSolver.solve(sudokuGrid);
+        cacheSolution(key, canonicalForm, solvedGrid);
+        return solvedGrid;
+    }
+
+    @Override
+    public SudokuGrid solve(SudokuGrid sudokuGrid, SolveStats solveStats) {
+        String key = exactKey(sudokuGrid);
+        if (key == null) {
+            return sudokuSolver.solve(sudokuGrid, solveStats);
+        }
+        long wallTime = System.nanoTime();
+        long cpuTime = SolveStats.currentThreadCpuTime();
+        CanonicalForm canonicalForm = null;
+        boolean hit = applyCachedSolution(sudokuGrid, key, null);
+        if (!hit) {
+            canonicalForm = canonicalize(sudokuGrid, null);
+            hit = applyCachedSolution(sudokuGrid, key, canonicalForm);
+        }
+        if (hit) {
+            if (solveStats != null) {
+                SolveStats stats = new SolveStats();
+                stats.recordSolve(System.nanoTime() - wallTime, SolveStats.currentThreadCpuTime() - cpuTime);
+                solveStats.add(stats);
+            }
+            return sudokuGrid;
+        }
+
+        SudokuGrid solvedGrid = sudokuSolver.solve(sudokuGrid, solveStats);
+        cacheSolution(key, canonicalForm, solvedGrid);
+        return solvedGrid;
+    }
+
+    @Override
+    public SolveResult solve(SudokuGrid sudokuGrid, SolveOptions solveOptions) {
+        if (solveOptions.isCancelled()) {
+            return new SolveResult(SolveStatus.CANCELLED, sudokuGrid);
+        }
+        String key = exactKey(sudokuGrid);
+        if (key == null) {
+            return sudokuSolver.solve(sudokuGrid, solveOptions);
+        }
+        if (applyCachedSolution(sudokuGrid, key, null)) {
+            return new SolveResult(SolveStatus.SOLVED, sudokuGrid);
+        }
+        long startTime = System.nanoTime();
+        CanonicalForm canonicalForm = canonicalize(sudokuGrid, solveOptions);
+        if (applyCachedSolution(sudokuGrid, key, canonicalForm)) {
+            return new SolveResult(SolveStatus.SOLVED, sudokuGrid);
+        }
+        if (solveOptions.isCancelled()) {
+            return new SolveResult(SolveStatus.CANCELLED, sudokuGrid);
+        }
+        SolveOptions remainingOptions = solveOptions;
+        if (solveOptions.hasTimeout()) {
+            long remaining = solveOptions.getTimeoutNanos() - (System.nanoTime() - startTime);
+            if (remaining <= 0) {
+                return new SolveResult(SolveStatus.TIMED_OUT, sudokuGrid);
+            }
+            remainingOptions = solveOptions.copy();
+            remainingOptions.setTimeout(remaining, TimeUnit.NANOSECONDS);
+        }
+
+        SolveResult result = sudokuSolver.solve(sudokuGrid, remainingOptions);
+        if (result.solved()) {
+            cacheSolution(key, canonicalForm, result.getSolution());
+        }
+        return result;
+    }
+
+    private String exactKey(SudokuGrid sudokuGrid) {
+        if (sudokuGrid.getSize() > SudokuFormat.MAX_SIZE) {
+            return null;
+        }
+        try {
+            return SudokuFormat.format(sudokuGrid);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private CanonicalForm canonicalize(SudokuGrid sudokuGrid, SolveOptions solveOptions) {
+        try {
+            return canonicalizer.canonicalize(sudokuGrid, solveOptions);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean applyCachedSolution(SudokuGrid sudokuGrid, String key, CanonicalForm canonicalForm) {
+        String cached;
+        SudokuGrid solution;
+        if (canonicalForm == null) {
+            if ((cached = solutionCache.get(key)) == null) {
+                return false;
+            }
+            solution = SudokuFormat.parse(cached);
+        } else {
+            if ((cached = solutionCache.get(canonicalForm.getKey())) == null) {
+                return false;
+            }
+            solution = canonicalForm.getTransform().revert(SudokuFormat.parse(cached));
+        }
+        for (Grid.Item item : sudokuGrid) {
+            if (item instanceof SudokuGrid.VariableItem) {
+                ((SudokuGrid.VariableItem) item).solve(
+                        solution.get(item.getRowIndex(), item.getColumnIndex()).getValue());
+            }
+        }
+        if (canonicalForm != null) {
+            solutionCache.put(key, SudokuFormat.format(solution));
+        }
+        return true;
+    }
+
+    private void cacheSolution(String key, CanonicalForm canonicalForm, SudokuGrid solvedGrid) {
+        solutionCache.put(key, SudokuFormat.format(solvedGrid));
+        if (canonicalForm != null) {
+            solutionCache.put(canonicalForm.getKey(), SudokuFormat.format(canonicalForm.getTransform().apply(solvedGrid)));
+        }
+    }
+
+    @Override
+    public SolutionCount countSolutions(SudokuGrid sudokuGrid, int limit, int maxSolutions) {
+        return sudokuSolver.countSolutions(sudokuGrid, limit, maxSolutions);
+    }
+}
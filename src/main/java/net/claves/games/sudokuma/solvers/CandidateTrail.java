@@ -0,0 +1,95 @@
+package net.claves.games.sudokuma.solvers;
+
+import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.candidates.CandidateSet;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+public class CandidateTrail {
+    private SudokuGrid.VariableItem[] items;
+    private int[] removedValues;
+    private Integer[] previousValues;
+    private int size;
+    private Listener listener;
+
+    public CandidateTrail(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        items = new SudokuGrid.VariableItem[capacity];
+        removedValues = new int[capacity];
+        previousValues = new Integer[capacity];
+    }
+
+    public Listener getListener() {
+        return listener;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public int mark() {
+        return size;
+    }
+
+    public boolean removePossibility(SudokuGrid.VariableItem variableItem, Integer possibility) {
+        Integer previousValue = variableItem.getValue();
+        boolean removed = variableItem.removePossibility(possibility);
+        if (removed) {
+            push(variableItem, possibility, previousValue);
+        } else if (!Objects.equals(previousValue, variableItem.getValue())) {
+            push(variableItem, 0, previousValue);
+        }
+        return removed;
+    }
+
+    public void solve(SudokuGrid.VariableItem variableItem, int solution) {
+        Integer previousValue = variableItem.getValue();
+        CandidateSet candidates = variableItem.getCandidates();
+        push(variableItem, 0, previousValue);
+        for (int candidate = candidates.first(); candidate != -1; candidate = candidates.next(candidate)) {
+            if (candidate != solution) {
+                push(variableItem, candidate, previousValue);
+            }
+        }
+        variableItem.solve(solution);
+    }
+
+    public void setValue(SudokuGrid.VariableItem variableItem, Integer value) {
+        push(variableItem, 0, variableItem.getValue());
+        variableItem.setValue(value);
+    }
+
+    public void undo(int mark) {
+        while (size > mark) {
+            size--;
+            SudokuGrid.VariableItem variableItem = items[size];
+            if (removedValues[size] != 0) {
+                variableItem.getCandidates().add(removedValues[size]);
+                if (listener != null) {
+                    listener.restored(variableItem, removedValues[size]);
+                }
+            }
+            variableItem.setValue(previousValues[size]);
+            items[size] = null;
+            previousValues[size] = null;
+        }
+    }
+
+    private void push(SudokuGrid.VariableItem variableItem, int removedValue, Integer previousValue) {
+        if (size == items.length) {
+            int capacity = size * 2;
+            items = Arrays.copyOf(items, capacity);
+            removedValues = Arrays.copyOf(removedValues, capacity);
+            previousValues = Arrays.copyOf(previousValues, capacity);
+        }
+        items[size] = variableItem;
+        removedValues[size] = removedValue;
+        previousValues[size] = previousValue;
+        size++;
+    }
+
+    public interface Listener {
+        void restored(SudokuGrid.VariableItem variableItem, int value);
+    }
+}
@@ -0,0 +1,207 @@
+package net.claves.games.sudokuma.solvers;
+
+import net.claves.games.Grid;
+import net.claves.games.sudokuma.SolutionCount;
+import net.claves.games.sudokuma.SolveOptions;
+import net.claves.games.sudokuma.SolveResult;
+import net.claves.games.sudokuma.SolveStats;
+import net.claves.games.sudokuma.SolveStatus;
+import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.SudokuSolver;
+import net.claves.games.sudokuma.SudokuTopology;
+import net.claves.games.sudokuma.exceptions.MultipleSolutionsException;
+import net.claves.games.sudokuma.exceptions.UnsolvableSudokuException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class CdclSolver implements SudokuSolver {
+    @Override
+    public SudokuGrid solve(SudokuGrid sudokuGrid) {
+        return solveGrid(sudokuGrid, new Search(sudokuGrid, 2, 2, null, null));
+    }
+
+    @Override
+    public SudokuGrid solve(SudokuGrid sudokuGrid, SolveStats solveStats) {
+        long wallTime = System.nanoTime();
+        long cpuTime = SolveStats.currentThreadCpuTime();
+        SolveStats stats = new SolveStats();
+        try {
+            return solveGrid(sudokuGrid, new Search(sudokuGrid, 2, 2, null, stats));
+        } finally {
+            stats.recordSolve(System.nanoTime() - wallTime, SolveStats.currentThreadCpuTime() - cpuTime);
+            if (solveStats != null) {
+                solveStats.add(stats);
+            }
+        }
+    }
+
+    @Override
+    public SolveResult solve(SudokuGrid sudokuGrid, SolveOptions solveOptions) {
+        if (solveOptions.isCancelled()) {
+            return new SolveResult(SolveStatus.CANCELLED, sudokuGrid);
+        }
+        Search search = new Search(sudokuGrid, 2, 2, solveOptions, null);
+        search.run();
+        if (search.status != null) {
+            return new SolveResult(search.status, sudokuGrid);
+        }
+        if (search.count > 1) {
+            return new SolveResult(SolveStatus.MULTIPLE_SOLUTIONS, sudokuGrid);
+        }
+        if (search.count == 0 || !fill(sudokuGrid, search.solutions.get(0))) {
+            return new SolveResult(SolveStatus.UNSOLVABLE, sudokuGrid);
+        }
+        return new SolveResult(SolveStatus.SOLVED, sudokuGrid);
+    }
+
+    @Override
+    public SolutionCount countSolutions(SudokuGrid sudokuGrid, int limit, int maxSolutions) {
+        if (limit <= 0) {
+            return new SolutionCount(0, limit, Collections.<SudokuGrid>emptyList());
+        }
+        Search search = new Search(sudokuGrid, limit, maxSolutions, null, null);
+        search.run();
+        List<SudokuGrid> solvedGrids = new ArrayList<>();
+        for (int[] solution : search.solutions) {
+            SudokuGrid solvedGrid = sudokuGrid.copy();
+            fill(solvedGrid, solution);
+            solvedGrids.add(solvedGrid);
+        }
+        return new SolutionCount(search.count, limit, solvedGrids);
+    }
+
+    private static SudokuGrid solveGrid(SudokuGrid sudokuGrid, Search search) {
+        search.run();
+        if (search.count == 0) {
+            throw new UnsolvableSudokuException(sudokuGrid, "Cannot find a valid solution!");
+        }
+        if (search.count > 1) {
+            Set<SudokuGrid> solvedGrids = new HashSet<>();
+            for (int[] solution : search.solutions) {
+                SudokuGrid solvedGrid = sudokuGrid.copy();
+                fill(solvedGrid, solution);
+                solvedGrids.add(solvedGrid);
+            }
+            throw new MultipleSolutionsException(sudokuGrid, solvedGrids);
+        }
+        if (!fill(sudokuGrid, search.solutions.get(0))) {
+            throw new UnsolvableSudokuException(sudokuGrid, "Cannot find a valid solution!");
+        }
+        return sudokuGrid;
+    }
+
+    private static boolean fill(SudokuGrid sudokuGrid, int[] solution) {
+        for (int cell = 0; cell < solution.length; cell++) {
+            Grid.Item<Integer> item = sudokuGrid.get(cell);
+            if (item instanceof SudokuGrid.VariableItem) {
+                ((SudokuGrid.VariableItem) item).solve(solution[cell]);
+            }
+        }
+        return sudokuGrid.solved();
+    }
+
+    private static class Search {
+        private final int size;
+        private final int[] givens;
+        private final SatSolver satSolver;
+        private final int limit;
+        private final int maxSolutions;
+        private final List<int[]> solutions = new ArrayList<>();
+
+        private int count;
+        private SolveStatus status;
+        private boolean consistent = true;
+
+        private Search(SudokuGrid sudokuGrid, int limit, int maxSolutions, SolveOptions solveOptions, SolveStats stats) {
+            SudokuTopology topology = sudokuGrid.getTopology();
+            this.size = topology.getSize();
+            this.givens = new int[topology.getCellCount()];
+            this.limit = limit;
+            this.maxSolutions = maxSolutions;
+            this.satSolver = new SatSolver(givens.length * size);
+            satSolver.setSolveOptions(solveOptions);
+            satSolver.setSolveStats(stats);
+
+            int[] variables = new int[size];
+            int[] literals = new int[size];
+            for (int cell = 0; cell < givens.length; cell++) {
+                for (int digit = 0; digit < size; digit++) {
+                    variables[digit] = variable(cell, digit);
+                    literals[digit] = SatSolver.literal(variables[digit], true);
+                }
+                satSolver.addAtMostOne(variables);
+                satSolver.addClause(literals);
+            }
+            for (int unit = 0; unit < topology.getUnitCount(); unit++) {
+                int[] cells = topology.getUnitCells(unit);
+                for (int digit = 0; digit < size; digit++) {
+                    for (int index = 0; index < cells.length; index++) {
+                        variables[index] = variable(cells[index], digit);
+                        literals[index] = SatSolver.literal(variables[index], true);
+                    }
+                    satSolver.addAtMostOne(variables);
+                    satSolver.addClause(literals);
+                }
+            }
+
+            for (int cell = 0; cell < givens.length; cell++) {
+                Integer value = sudokuGrid.get(cell).getValue();
+                if (value == null) {
+                    continue;
+                }
+                if (value < 1 || value > size) {
+                    consistent = false;
+                    return;
+                }
+                givens[cell] = value;
+                consistent &= satSolver.addClause(SatSolver.literal(variable(cell, value - 1), true));
+            }
+        }
+
+        private int variable(int cell, int digit) {
+            return cell * size + digit;
+        }
+
+        private void run() {
+            if (!consistent) {
+                return;
+            }
+            while (count < limit) {
+                SolveStatus result = satSolver.solve();
+                if (result == SolveStatus.UNSOLVABLE) {
+                    return;
+                }
+                if (result != SolveStatus.SOLVED) {
+                    status = result;
+                    return;
+                }
+                int[] solution = new int[givens.length];
+                int[] blocking = new int[givens.length];
+                int blockingSize = 0;
+                for (int cell = 0; cell < givens.length; cell++) {
+                    for (int digit = 0; digit < size; digit++) {
+                        if (satSolver.value(variable(cell, digit))) {
+                            solution[cell] = digit + 1;
+                            if (givens[cell] == 0) {
+                                blocking[blockingSize++] = SatSolver.literal(variable(cell, digit), false);
+                            }
+                            break;
+                        }
+                    }
+                }
+                count++;
+                if (solutions.size() < maxSolutions) {
+                    solutions.add(solution);
+                }
+                if (count < limit && !satSolver.addClause(Arrays.copyOf(blocking, blockingSize))) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package net.claves.games.sudokuma.solvers;
+
+import net.claves.games.Grid;
+import net.claves.games.Position;
+import net.claves.games.sudokuma.SolveStats;
+import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.SudokuTopology;
+import net.claves.games.sudokuma.candidates.CandidateSet;
+import net.claves.games.sudokuma.deductions.DeductionRule;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public class ConstraintPropagator implements CandidateTrail.Listener {
+    private final SudokuGrid sudokuGrid;
+    private final SudokuTopology topology;
+    private final CandidateTrail trail;
+    private final int size;
+    private final Grid.Item<Integer>[] items;
+    private final int[] counts;
+
+    private final int[] assignedQueue;
+    private final boolean[] queued;
+    private int assignedHead;
+    private int assignedTail;
+
+    private final int[] hiddenQueue;
+    private int hiddenCount;
+
+    private DeductionRule[] rules = new DeductionRule[0];
+    private DeductionRule hardestRule;
+    private SolveStats solveStats;
+    private boolean failed;
+    private Position contradiction;
+
+    @SuppressWarnings("unchecked")
+    public ConstraintPropagator(SudokuGrid sudokuGrid, CandidateTrail trail) {
+        this.sudokuGrid = sudokuGrid;
+        this.topology = SudokuTopology.forSize(sudokuGrid.getSize());
+        this.trail = trail;
+        this.size = sudokuGrid.getSize();
+        this.items = new Grid.Item[topology.getCellCount()];
+        for (int cell = 0; cell < items.length; cell++) {
+            items[cell] = sudokuGrid.get(cell);
+        }
+        this.counts = new int[topology.getUnitCount() * (size + 1)];
+        this.assignedQueue = new int[items.length];
+        this.queued = new boolean[items.length];
+        this.hiddenQueue = new int[counts.length];
+        if (trail != null) {
+            trail.setListener(this);
+        }
+    }
+
+    public SudokuGrid getSudokuGrid() {
+        return sudokuGrid;
+    }
+
+    public SudokuTopology getTopology() {
+        return topology;
+    }
+
+    public List<DeductionRule> getDeductionRules() {
+        return Collections.unmodifiableList(Arrays.asList(rules));
+    }
+
+    public void setDeductionRules(List<DeductionRule> deductionRules) {
+        DeductionRule[] rules = deductionRules.toArray(new DeductionRule[deductionRules.size()]);
+        Arrays.sort(rules, new Comparator<DeductionRule>() {
+            @Override
+            public int compare(DeductionRule first, DeductionRule second) {
+                return Integer.compare(first.getCost(), second.getCost());
+            }
+        });
+        this.rules = rules;
+    }
+
+    public SolveStats getSolveStats() {
+        return solveStats;
+    }
+
+    public void setSolveStats(SolveStats solveStats) {
+        this.solveStats = solveStats;
+    }
+
+    public DeductionRule getHardestRule() {
+        return hardestRule;
+    }
+
+    public Position getContradiction() {
+        return contradiction;
+    }
+
+    public CandidateSet getCandidates(int cell) {
+        Grid.Item<Integer> item = items[cell];
+        if (item instanceof SudokuGrid.VariableItem && item.getValue() == null) {
+            return ((SudokuGrid.VariableItem) item).getCandidates();
+        }
+        return null;
+    }
+
+    public boolean eliminate(int cell, int value) {
+        if (failed) {
+            return false;
+        }
+        CandidateSet candidates = getCandidates(cell);
+        return candidates == null || !candidates.contains(value) || remove(cell, value);
+    }
+
+    public boolean initialize() {
+        reset();
+        failed = false;
+        contradiction = null;
+        hardestRule = null;
+        Arrays.fill(counts, 0);
+        for (int cell = 0; cell < items.length; cell++) {
+            Grid.Item<Integer> item = items[cell];
+            if (item instanceof SudokuGrid.VariableItem) {
+                CandidateSet candidates = ((SudokuGrid.VariableItem) item).getCandidates();
+                for (int value = candidates.first(); value != -1; value = candidates.next(value)) {
+                    increment(cell, value);
+                }
+            } else if (isInRange(item.getValue())) {
+                increment(cell, item.getValue());
+            }
+        }
+
+        for (int index = 0; index < counts.length; index++) {
+            if (index % (size + 1) == 0) {
+                continue;
+            }
+            if (counts[index] == 0) {
+                return fail(topology.getUnitCells(index / (size + 1))[0]);
+            }
+            if (counts[index] == 1) {
+                hiddenQueue[hiddenCount++] = index;
+            }
+        }
+
+        for (int cell = 0; cell < items.length; cell++) {
+            Grid.Item<Integer> item = items[cell];
+            Integer value = item.getValue();
+            if (value == null) {
+                continue;
+            }
+            if (!isInRange(value)) {
+                return fail(cell);
+            }
+            if (item instanceof SudokuGrid.VariableItem) {
+                if (!assign(cell, value)) {
+                    return false;
+                }
+            }
+            enqueue(cell);
+        }
+        return propagate();
+    }
+
+    public boolean assign(SudokuGrid.VariableItem variableItem, int value) {
+        return assign(topology.cell(variableItem.getRowIndex(), variableItem.getColumnIndex()), value);
+    }
+
+    public boolean assign(int cell, int value) {
+        failed = false;
+        Grid.Item<Integer> item = items[cell];
+        if (!(item instanceof SudokuGrid.VariableItem)) {
+            return item.getValue() != null && item.getValue() == value || fail(cell);
+        }
+        SudokuGrid.VariableItem variableItem = (SudokuGrid.VariableItem) item;
+        CandidateSet candidates = variableItem.getCandidates();
+        if (!candidates.contains(value)) {
+            return fail(cell);
+        }
+        for (int candidate = candidates.first(); candidate != -1; candidate = candidates.next(candidate)) {
+            if (candidate != value && !remove(cell, candidate)) {
+                return false;
+            }
+        }
+        if (variableItem.getValue() == null || variableItem.getValue() != value) {
+            setValue(variableItem, value);
+            enqueue(cell);
+        }
+        return true;
+    }
+
+    public boolean propagate() {
+        failed = false;
+        if (!propagateSingles()) {
+            return false;
+        }
+        int index = 0;
+        while (index < rules.length) {
+            DeductionRule rule = rules[index];
+            if (rule.apply(this)) {
+                if (failed || !propagateSingles()) {
+                    return false;
+                }
+                if (solveStats != null) {
+                    solveStats.recordDeduction(rule.getName());
+                }
+                if (hardestRule == null || rule.getCost() > hardestRule.getCost()) {
+                    hardestRule = rule;
+                }
+                index = 0;
+            } else {
+                index++;
+            }
+        }
+        return true;
+    }
+
+    private boolean propagateSingles() {
+        while (assignedHead < assignedTail || hiddenCount > 0) {
+            while (assignedHead < assignedTail) {
+                int cell = assignedQueue[assignedHead++];
+                queued[cell] = false;
+                if (!eliminateFromPeers(cell)) {
+                    return false;
+                }
+            }
+            if (hiddenCount > 0 && !placeHiddenSingle(hiddenQueue[--hiddenCount])) {
+                return false;
+            }
+        }
+        assignedHead = 0;
+        assignedTail = 0;
+        return true;
+    }
+
+    private boolean eliminateFromPeers(int cell) {
+        int value = items[cell].getValue();
+        for (int peer : topology.getPeers(cell)) {
+            Grid.Item<Integer> item = items[peer];
+            if (item instanceof SudokuGrid.VariableItem) {
+                if (((SudokuGrid.VariableItem) item).getCandidates().contains(value) && !remove(peer, value)) {
+                    return false;
+                }
+            } else if (item.getValue() != null && item.getValue() == value) {
+                return fail(peer);
+            }
+        }
+        return true;
+    }
+
+    private boolean placeHiddenSingle(int index) {
+        if (counts[index] != 1) {
+            return true;
+        }
+        int value = index % (size + 1);
+        for (int cell : topology.getUnitCells(index / (size + 1))) {
+            Grid.Item<Integer> item = items[cell];
+            if (item instanceof SudokuGrid.VariableItem) {
+                if (((SudokuGrid.VariableItem) item).getCandidates().contains(value)) {
+                    if (item.getValue() != null) {
+                        return true;
+                    }
+                    if (solveStats != null) {
+                        solveStats.recordDeduction(SolveStats.HIDDEN_SINGLE);
+                    }
+                    return assign(cell, value);
+                }
+            } else if (item.getValue() != null && item.getValue() == value) {
+                return true;
+            }
+        }
+        return true;
+    }
+
+    private boolean remove(int cell, int value) {
+        SudokuGrid.VariableItem variableItem = (SudokuGrid.VariableItem) items[cell];
+        if (trail != null) {
+            trail.removePossibility(variableItem, value);
+        } else {
+            variableItem.removePossibility(value);
+        }
+        if (solveStats != null) {
+            solveStats.recordPropagation();
+        }
+
+        boolean exhausted = false;
+        for (int unit : topology.getCellUnits(cell)) {
+            int index = unit * (size + 1) + value;
+            int count = --counts[index];
+            if (count == 0) {
+                exhausted = true;
+            } else if (count == 1) {
+                hiddenQueue[hiddenCount++] = index;
+            }
+        }
+
+        CandidateSet candidates = variableItem.getCandidates();
+        if (exhausted || candidates.isEmpty()) {
+            return fail(cell);
+        }
+        if (candidates.size() == 1 && variableItem.getValue() == null) {
+            if (solveStats != null) {
+                solveStats.recordDeduction(SolveStats.NAKED_SINGLE);
+            }
+            setValue(variableItem, candidates.first());
+            enqueue(cell);
+        }
+        return true;
+    }
+
+    private void setValue(SudokuGrid.VariableItem variableItem, int value) {
+        if (trail != null) {
+            trail.setValue(variableItem, value);
+        } else {
+            variableItem.setValue(value);
+        }
+    }
+
+    private void enqueue(int cell) {
+        if (!queued[cell]) {
+            queued[cell] = true;
+            assignedQueue[assignedTail++] = cell;
+        }
+    }
+
+    private void increment(int cell, int value) {
+        for (int unit : topology.getCellUnits(cell)) {
+            counts[unit * (size + 1) + value]++;
+        }
+    }
+
+    private boolean isInRange(Integer value) {
+        return value != null && value >= 1 && value <= size;
+    }
+
+    private boolean fail(int cell) {
+        failed = true;
+        contradiction = items[cell].getPosition();
+        reset();
+        return false;
+    }
+
+    private void reset() {
+        for (int index = assignedHead; index < assignedTail; index++) {
+            queued[assignedQueue[index]] = false;
+        }
+        assignedHead = 0;
+        assignedTail = 0;
+        hiddenCount = 0;
+    }
+
+    @Override
+    public void restored(SudokuGrid.VariableItem variableItem, int value) {
+        increment(topology.cell(variableItem.getRowIndex(), variableItem.getColumnIndex()), value);
+    }
+}
@@ -0,0 +1,307 @@
+package net.claves.games.sudokuma.solvers;
+
+import net.claves.games.Grid;
+import net.claves.games.sudokuma.SolutionCount;
+import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.SudokuSolver;
+import net.claves.games.sudokuma.exceptions.MultipleSolutionsException;
+import net.claves.games.sudokuma.exceptions.UnsolvableSudokuException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DancingLinksSolver implements SudokuSolver {
+    private static final Map<Integer, ExactCoverMatrix> MATRICES = new ConcurrentHashMap<>();
+
+    @Override
+    public SudokuGrid solve(SudokuGrid sudokuGrid) {
+        List<int[]> solutions = new Search(sudokuGrid, 2, 2).run();
+        if (solutions.isEmpty()) {
+            throw new UnsolvableSudokuException(sudokuGrid, "Cannot find a valid solution!");
+        }
+        if (solutions.size() > 1) {
+            Set<SudokuGrid> solvedGrids = new HashSet<>();
+            for (int[] solution : solutions) {
+                SudokuGrid solvedGrid = sudokuGrid.copy();
+                fill(solvedGrid, solution);
+                solvedGrids.add(solvedGrid);
+            }
+            throw new MultipleSolutionsException(sudokuGrid, solvedGrids);
+        }
+
+        fill(sudokuGrid, solutions.get(0));
+        if (!sudokuGrid.solved()) {
+            throw new UnsolvableSudokuException(sudokuGrid, "Cannot find a valid solution!");
+        }
+
+        return sudokuGrid;
+    }
+
+    @Override
+    public SolutionCount countSolutions(SudokuGrid sudokuGrid, int limit, int maxSolutions) {
+        Search search = new Search(sudokuGrid, limit, maxSolutions);
+        List<SudokuGrid> solvedGrids = new ArrayList<>();
+        for (int[] solution : search.run()) {
+            SudokuGrid solvedGrid = sudokuGrid.copy();
+            fill(solvedGrid, solution);
+            solvedGrids.add(solvedGrid);
+        }
+        return new SolutionCount(search.count, limit, solvedGrids);
+    }
+
+    private static ExactCoverMatrix getMatrix(int size) {
+        ExactCoverMatrix matrix = MATRICES.get(size);
+        if (matrix == null) {
+            int regionSize = (int) Math.sqrt(size);
+            matrix = new ExactCoverMatrix(size, regionSize * regionSize == size ? regionSize : 0);
+            ExactCoverMatrix existing = MATRICES.putIfAbsent(size, matrix);
+            if (existing != null) {
+                matrix = existing;
+            }
+        }
+        return matrix;
+    }
+
+    private static void fill(SudokuGrid sudokuGrid, int[] solution) {
+        int size = sudokuGrid.getSize();
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                Grid.Item<Integer> item = sudokuGrid.get(row, column);
+                if (item instanceof SudokuGrid.VariableItem) {
+                    ((SudokuGrid.VariableItem) item).solve(solution[row * size + column]);
+                }
+            }
+        }
+    }
+
+    private static class Search {
+        private final SudokuGrid sudokuGrid;
+        private final ExactCoverMatrix matrix;
+        private final int[] left;
+        private final int[] right;
+        private final int[] up;
+        private final int[] down;
+        private final int[] columnSizes;
+        private final int[] values;
+        private final int[] selectedRows;
+        private final int limit;
+        private final int maxSolutions;
+        private final List<int[]> solutions = new ArrayList<>();
+
+        private int depth;
+        private int count;
+
+        private Search(SudokuGrid sudokuGrid, int limit, int maxSolutions) {
+            int size = sudokuGrid.getSize();
+            this.sudokuGrid = sudokuGrid;
+            this.matrix = getMatrix(size);
+            this.left = matrix.left.clone();
+            this.right = matrix.right.clone();
+            this.up = matrix.up.clone();
+            this.down = matrix.down.clone();
+            this.columnSizes = matrix.columnSizes.clone();
+            this.values = new int[size * size];
+            this.selectedRows = new int[size * size];
+            this.limit = limit;
+            this.maxSolutions = maxSolutions;
+        }
+
+        private List<int[]> run() {
+            if (limit > 0 && coverGivens()) {
+                search();
+            }
+            return solutions;
+        }
+
+        private boolean coverGivens() {
+            int size = matrix.size;
+            for (int row = 0; row < size; row++) {
+                for (int column = 0; column < size; column++) {
+                    Integer value = sudokuGrid.get(row, column).getValue();
+                    int cell = row * size + column;
+                    values[cell] = 0;
+                    if (value == null) {
+                        continue;
+                    }
+                    if (value < 1 || value > size || !coverRow(matrix.rowNodes[cell * size + value - 1])) {
+                        return false;
+                    }
+                    values[cell] = value;
+                }
+            }
+            return true;
+        }
+
+        private boolean coverRow(int rowNode) {
+            int node = rowNode;
+            do {
+                int header = matrix.columns[node];
+                if (right[left[header]] != header) {
+                    return false;
+                }
+                node = right[node];
+            } while (node != rowNode);
+
+            node = rowNode;
+            do {
+                cover(matrix.columns[node]);
+                node = right[node];
+            } while (node != rowNode);
+            return true;
+        }
+
+        private boolean search() {
+            if (right[0] == 0) {
+                recordSolution();
+                return ++count >= limit;
+            }
+
+            int header = chooseColumn();
+            if (columnSizes[header] == 0) {
+                return false;
+            }
+
+            boolean stop = false;
+            cover(header);
+            for (int rowNode = down[header]; rowNode != header && !stop; rowNode = down[rowNode]) {
+                selectedRows[depth++] = matrix.rows[rowNode];
+                for (int node = right[rowNode]; node != rowNode; node = right[node]) {
+                    cover(matrix.columns[node]);
+                }
+                stop = search();
+                for (int node = left[rowNode]; node != rowNode; node = left[node]) {
+                    uncover(matrix.columns[node]);
+                }
+                depth--;
+            }
+            uncover(header);
+            return stop;
+        }
+
+        private int chooseColumn() {
+            int best = right[0];
+            for (int header = right[best]; header != 0; header = right[header]) {
+                if (columnSizes[header] < columnSizes[best]) {
+                    best = header;
+                    if (columnSizes[best] <= 1) {
+                        break;
+                    }
+                }
+            }
+            return best;
+        }
+
+        private void cover(int header) {
+            right[left[header]] = right[header];
+            left[right[header]] = left[header];
+            for (int rowNode = down[header]; rowNode != header; rowNode = down[rowNode]) {
+                for (int node = right[rowNode]; node != rowNode; node = right[node]) {
+                    up[down[node]] = up[node];
+                    down[up[node]] = down[node];
+                    columnSizes[matrix.columns[node]]--;
+                }
+            }
+        }
+
+        private void uncover(int header) {
+            for (int rowNode = up[header]; rowNode != header; rowNode = up[rowNode]) {
+                for (int node = left[rowNode]; node != rowNode; node = left[node]) {
+                    columnSizes[matrix.columns[node]]++;
+                    up[down[node]] = node;
+                    down[up[node]] = node;
+                }
+            }
+            right[left[header]] = header;
+            left[right[header]] = header;
+        }
+
+        private void recordSolution() {
+            if (solutions.size() >= maxSolutions) {
+                return;
+            }
+            int size = matrix.size;
+            int[] solution = values.clone();
+            for (int i = 0; i < depth; i++) {
+                int row = selectedRows[i];
+                solution[row / size] = row % size + 1;
+            }
+            solutions.add(solution);
+        }
+    }
+
+    private static class ExactCoverMatrix {
+        private final int size;
+        private final int[] left;
+        private final int[] right;
+        private final int[] up;
+        private final int[] down;
+        private final int[] columnSizes;
+        private final int[] columns;
+        private final int[] rows;
+        private final int[] rowNodes;
+
+        private ExactCoverMatrix(int size, int regionSize) {
+            this.size = size;
+            int cells = size * size;
+            int constraints = regionSize > 0 ? 4 : 3;
+            int columnCount = constraints * cells;
+            int nodeCount = 1 + columnCount + cells * size * constraints;
+
+            left = new int[nodeCount];
+            right = new int[nodeCount];
+            up = new int[nodeCount];
+            down = new int[nodeCount];
+            columns = new int[nodeCount];
+            rows = new int[nodeCount];
+            columnSizes = new int[columnCount + 1];
+            rowNodes = new int[cells * size];
+
+            for (int header = 0; header <= columnCount; header++) {
+                left[header] = header == 0 ? columnCount : header - 1;
+                right[header] = header == columnCount ? 0 : header + 1;
+                up[header] = header;
+                down[header] = header;
+                columns[header] = header;
+                rows[header] = -1;
+            }
+
+            int[] rowColumns = new int[constraints];
+            int node = columnCount + 1;
+            for (int row = 0; row < size; row++) {
+                for (int column = 0; column < size; column++) {
+                    for (int value = 0; value < size; value++) {
+                        rowColumns[0] = 1 + row * size + column;
+                        rowColumns[1] = 1 + cells + row * size + value;
+                        rowColumns[2] = 1 + 2 * cells + column * size + value;
+                        if (regionSize > 0) {
+                            int region = (row / regionSize) * regionSize + column / regionSize;
+                            rowColumns[3] = 1 + 3 * cells + region * size + value;
+                        }
+
+                        int rowId = (row * size + column) * size + value;
+                        int first = node;
+                        for (int header : rowColumns) {
+                            columns[node] = header;
+                            rows[node] = rowId;
+                            up[node] = up[header];
+                            down[node] = header;
+                            down[up[header]] = node;
+                            up[header] = node;
+                            columnSizes[header]++;
+                            left[node] = node - 1;
+                            right[node] = node + 1;
+                            node++;
+                        }
+                        left[first] = node - 1;
+                        right[node - 1] = first;
+                        rowNodes[rowId] = first;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package net.claves.games.sudokuma.solvers;
+
+import net.claves.games.Grid;
+import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.SudokuTopology;
+
+public class LeastConstrainingValueStrategy extends MinimumRemainingValuesStrategy {
+
+    @Override
+    public int[] orderValues(SudokuGrid sudokuGrid, SudokuGrid.VariableItem variableItem) {
+        int[] values = super.orderValues(sudokuGrid, variableItem);
+        int[] constraints = new int[values.length];
+        for (int index = 0; index < values.length; index++) {
+            constraints[index] = countConstrainedPeers(sudokuGrid, variableItem, values[index]);
+        }
+        for (int index = 1; index < values.length; index++) {
+            int value = values[index];
+            int constraint = constraints[index];
+            int position = index - 1;
+            while (position >= 0 && constraints[position] > constraint) {
+                values[position + 1] = values[position];
+                constraints[position + 1] = constraints[position];
+                position--;
+            }
+            values[position + 1] = value;
+            constraints[position + 1] = constraint;
+        }
+        return values;
+    }
+
+    private static int countConstrainedPeers(SudokuGrid sudokuGrid, SudokuGrid.VariableItem variableItem, int value) {
+        SudokuTopology topology = SudokuTopology.forSize(sudokuGrid.getSize());
+        int count = 0;
+        for (int peer : topology.getPeers(topology.cell(variableItem.getRowIndex(), variableItem.getColumnIndex()))) {
+            if (isConstrained(sudokuGrid.get(peer), value)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean isConstrained(Grid.Item item, int value) {
+        return isUnsolved(item) && ((SudokuGrid.VariableItem) item).getCandidates().contains(value);
+    }
+}
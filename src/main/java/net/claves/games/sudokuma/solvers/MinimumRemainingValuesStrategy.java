@@ -0,0 +1,63 @@
+package net.claves.games.sudokuma.solvers;
+
+import net.claves.games.Grid;
+import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.SudokuTopology;
+
+public class MinimumRemainingValuesStrategy extends RowMajorBranchingStrategy {
+    private boolean degreeTieBreaking = true;
+
+    public boolean isDegreeTieBreaking() {
+        return degreeTieBreaking;
+    }
+
+    public void setDegreeTieBreaking(boolean degreeTieBreaking) {
+        this.degreeTieBreaking = degreeTieBreaking;
+    }
+
+    @Override
+    public SudokuGrid.VariableItem selectVariable(SudokuGrid sudokuGrid) {
+        SudokuGrid.VariableItem best = null;
+        int bestSize = Integer.MAX_VALUE;
+        int bestDegree = -1;
+        int cellCount = sudokuGrid.getCellCount();
+        for (int cell = 0; cell < cellCount; cell++) {
+            Grid.Item item = sudokuGrid.get(cell);
+            if (!isUnsolved(item)) {
+                continue;
+            }
+            SudokuGrid.VariableItem variableItem = (SudokuGrid.VariableItem) item;
+            int size = variableItem.getCandidates().size();
+            if (size > bestSize) {
+                continue;
+            }
+            if (size < bestSize) {
+                best = variableItem;
+                bestSize = size;
+                bestDegree = -1;
+                if (size <= 1 || (size == 2 && !degreeTieBreaking)) {
+                    break;
+                }
+            }
+            if (degreeTieBreaking) {
+                int degree = getDegree(sudokuGrid, variableItem);
+                if (degree > bestDegree) {
+                    best = variableItem;
+                    bestDegree = degree;
+                }
+            }
+        }
+        return best;
+    }
+
+    protected int getDegree(SudokuGrid sudokuGrid, SudokuGrid.VariableItem variableItem) {
+        SudokuTopology topology = SudokuTopology.forSize(sudokuGrid.getSize());
+        int degree = 0;
+        for (int peer : topology.getPeers(topology.cell(variableItem.getRowIndex(), variableItem.getColumnIndex()))) {
+            if (isUnsolved(sudokuGrid.get(peer))) {
+                degree++;
+            }
+        }
+        return degree;
+    }
+}
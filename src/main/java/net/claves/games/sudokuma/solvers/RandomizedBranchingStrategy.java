@@ -0,0 +1,30 @@
+package net.claves.games.sudokuma.solvers;
+
+import net.claves.games.sudokuma.SudokuGrid;
+
+import java.util.Random;
+
+public class RandomizedBranchingStrategy extends MinimumRemainingValuesStrategy {
+    private final Random random;
+
+    public RandomizedBranchingStrategy(Random random) {
+        this.random = random;
+        setDegreeTieBreaking(false);
+    }
+
+    public Random getRandom() {
+        return random;
+    }
+
+    @Override
+    public int[] orderValues(SudokuGrid sudokuGrid, SudokuGrid.VariableItem variableItem) {
+        int[] values = super.orderValues(sudokuGrid, variableItem);
+        for (int index = values.length - 1; index > 0; index--) {
+            int other = random.nextInt(index + 1);
+            int value = values[index];
+            values[index] = values[other];
+            values[other] = value;
+        }
+        return values;
+    }
+}
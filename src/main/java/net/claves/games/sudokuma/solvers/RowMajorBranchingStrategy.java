@@ -0,0 +1,38 @@
+package net.claves.games.sudokuma.solvers;
+
+import net.claves.games.Grid;
+import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.candidates.CandidateSet;
+
+public class RowMajorBranchingStrategy implements BranchingStrategy {
+
+    @Override
+    public SudokuGrid.VariableItem selectVariable(SudokuGrid sudokuGrid) {
+        int size = sudokuGrid.getSize();
+        for (int row = 0; row < size; row++) {
+            Grid.Item[] items = sudokuGrid.getRow(row);
+            for (int column = 0; column < size; column++) {
+                Grid.Item item = items[column] == null ? sudokuGrid.get(row, column) : items[column];
+                if (isUnsolved(item)) {
+                    return (SudokuGrid.VariableItem) item;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int[] orderValues(SudokuGrid sudokuGrid, SudokuGrid.VariableItem variableItem) {
+        CandidateSet candidates = variableItem.getCandidates();
+        int[] values = new int[candidates.size()];
+        int index = 0;
+        for (int value = candidates.first(); value != -1; value = candidates.next(value)) {
+            values[index++] = value;
+        }
+        return values;
+    }
+
+    protected static boolean isUnsolved(Grid.Item item) {
+        return item instanceof SudokuGrid.VariableItem && !((SudokuGrid.VariableItem) item).solved();
+    }
+}
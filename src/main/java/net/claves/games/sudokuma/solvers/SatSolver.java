@@ -0,0 +1,655 @@
+package net.claves.games.sudokuma.solvers;
+
+import net.claves.games.sudokuma.CancellationToken;
+import net.claves.games.sudokuma.SolveOptions;
+import net.claves.games.sudokuma.SolveStats;
+import net.claves.games.sudokuma.SolveStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public class SatSolver {
+    public static final int RESTART_BASE = 100;
+
+    private static final int NO_CONFLICT = -1;
+    private static final int GROUP_CONFLICT = -2;
+    private static final double ACTIVITY_DECAY = 0.95;
+    private static final double ACTIVITY_LIMIT = 1e100;
+
+    private final int variableCount;
+    private final byte[] values;
+    private final int[] levels;
+    private final int[] reasonClauses;
+    private final int[] reasonLiterals;
+    private final boolean[] phases;
+    private final boolean[] seen;
+    private final int[] trail;
+    private int trailSize;
+    private int propagated;
+    private int[] levelStarts = new int[16];
+    private int level;
+
+    private final List<int[]> clauses = new ArrayList<>();
+    private boolean[] learnt = new boolean[16];
+    private int[] clauseLbds = new int[16];
+    private final int[][] watches;
+    private final int[] watchSizes;
+    private int learntCount;
+    private int maxLearnts;
+
+    private final List<int[]> groups = new ArrayList<>();
+    private int[][] variableGroups;
+
+    private final double[] activities;
+    private double activityIncrement = 1;
+    private final int[] heap;
+    private final int[] heapIndexes;
+    private int heapSize;
+
+    private int conflictA;
+    private int conflictB;
+    private boolean unsatisfiable;
+
+    private SolveOptions solveOptions;
+    private SolveStats solveStats;
+    private long decisions;
+    private long conflicts;
+    private long deadline;
+
+    public SatSolver(int variableCount) {
+        this.variableCount = variableCount;
+        this.values = new byte[2 * variableCount];
+        this.levels = new int[variableCount];
+        this.reasonClauses = new int[variableCount];
+        this.reasonLiterals = new int[variableCount];
+        this.phases = new boolean[variableCount];
+        this.seen = new boolean[variableCount];
+        this.trail = new int[variableCount];
+        this.watches = new int[2 * variableCount][];
+        this.watchSizes = new int[2 * variableCount];
+        this.activities = new double[variableCount];
+        this.heap = new int[variableCount];
+        this.heapIndexes = new int[variableCount];
+        Arrays.fill(phases, true);
+        Arrays.fill(heapIndexes, -1);
+        for (int variable = 0; variable < variableCount; variable++) {
+            heapInsert(variable);
+        }
+    }
+
+    public static int literal(int variable, boolean positive) {
+        return positive ? 2 * variable : 2 * variable + 1;
+    }
+
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    public SolveOptions getSolveOptions() {
+        return solveOptions;
+    }
+
+    public void setSolveOptions(SolveOptions solveOptions) {
+        this.solveOptions = solveOptions;
+    }
+
+    public SolveStats getSolveStats() {
+        return solveStats;
+    }
+
+    public void setSolveStats(SolveStats solveStats) {
+        this.solveStats = solveStats;
+    }
+
+    public long getDecisionCount() {
+        return decisions;
+    }
+
+    public long getConflictCount() {
+        return conflicts;
+    }
+
+    public int getLearntClauseCount() {
+        return learntCount;
+    }
+
+    public boolean value(int variable) {
+        return values[2 * variable] > 0;
+    }
+
+    public void addAtMostOne(int... variables) {
+        groups.add(variables.clone());
+        variableGroups = null;
+    }
+
+    public boolean addClause(int... literals) {
+        cancelUntil(0);
+        if (unsatisfiable) {
+            return false;
+        }
+        int[] clause = new int[literals.length];
+        int size = 0;
+        for (int literal : literals) {
+            if (values[literal] > 0) {
+                return true;
+            }
+            if (values[literal] == 0 && indexOf(clause, size, literal) < 0) {
+                if (indexOf(clause, size, literal ^ 1) >= 0) {
+                    return true;
+                }
+                clause[size++] = literal;
+            }
+        }
+        if (size == 0) {
+            unsatisfiable = true;
+        } else if (size == 1) {
+            assign(clause[0], -1, -1);
+        } else {
+            attach(Arrays.copyOf(clause, size), false, 0);
+        }
+        return !unsatisfiable;
+    }
+
+    public SolveStatus solve() {
+        cancelUntil(0);
+        if (unsatisfiable) {
+            return SolveStatus.UNSOLVABLE;
+        }
+        if (variableGroups == null) {
+            indexGroups();
+        }
+        if (maxLearnts == 0) {
+            maxLearnts = Math.max(2000, clauses.size() / 3);
+        }
+        boolean hasDeadline = solveOptions != null && solveOptions.hasTimeout();
+        deadline = hasDeadline ? System.nanoTime() + solveOptions.getTimeoutNanos() : 0;
+
+        int restarts = 0;
+        long restartLimit = RESTART_BASE * luby(restarts);
+        long restartConflicts = 0;
+        while (true) {
+            int conflict = propagate();
+            if (conflict != NO_CONFLICT) {
+                conflicts++;
+                restartConflicts++;
+                if (solveStats != null) {
+                    solveStats.recordBacktrack();
+                }
+                if (level == 0) {
+                    unsatisfiable = true;
+                    return SolveStatus.UNSOLVABLE;
+                }
+                learn(conflict);
+                decayActivities();
+                continue;
+            }
+
+            if (restartConflicts >= restartLimit) {
+                restartConflicts = 0;
+                restartLimit = RESTART_BASE * luby(++restarts);
+                cancelUntil(0);
+            }
+            if (learntCount - trailSize >= maxLearnts) {
+                reduceLearnts();
+            }
+
+            int variable = nextVariable();
+            if (variable < 0) {
+                return SolveStatus.SOLVED;
+            }
+            SolveStatus status = checkLimits(hasDeadline);
+            if (status != null) {
+                heapInsert(variable);
+                cancelUntil(0);
+                return status;
+            }
+            decisions++;
+            if (solveStats != null) {
+                solveStats.recordNode(level + 1);
+                solveStats.recordGuess();
+            }
+            newLevel();
+            assign(literal(variable, phases[variable]), -1, -1);
+        }
+    }
+
+    private SolveStatus checkLimits(boolean hasDeadline) {
+        if (solveOptions == null) {
+            return null;
+        }
+        CancellationToken cancellationToken = solveOptions.getCancellationToken();
+        if (cancellationToken != null && cancellationToken.isCancelled()) {
+            return SolveStatus.CANCELLED;
+        }
+        if (solveOptions.getMaxNodes() > 0 && decisions >= solveOptions.getMaxNodes()) {
+            return SolveStatus.BUDGET_EXCEEDED;
+        }
+        if (hasDeadline && System.nanoTime() - deadline > 0) {
+            return SolveStatus.TIMED_OUT;
+        }
+        return null;
+    }
+
+    private void indexGroups() {
+        int[] counts = new int[variableCount];
+        for (int[] group : groups) {
+            for (int variable : group) {
+                counts[variable]++;
+            }
+        }
+        variableGroups = new int[variableCount][];
+        for (int variable = 0; variable < variableCount; variable++) {
+            variableGroups[variable] = new int[counts[variable]];
+            counts[variable] = 0;
+        }
+        for (int index = 0; index < groups.size(); index++) {
+            for (int variable : groups.get(index)) {
+                variableGroups[variable][counts[variable]++] = index;
+            }
+        }
+    }
+
+    private void newLevel() {
+        if (level + 1 >= levelStarts.length) {
+            levelStarts = Arrays.copyOf(levelStarts, levelStarts.length * 2);
+        }
+        levelStarts[++level] = trailSize;
+    }
+
+    private void assign(int literal, int reasonClause, int reasonLiteral) {
+        int variable = literal >> 1;
+        values[literal] = 1;
+        values[literal ^ 1] = -1;
+        levels[variable] = level;
+        reasonClauses[variable] = reasonClause;
+        reasonLiterals[variable] = reasonLiteral;
+        trail[trailSize++] = literal;
+    }
+
+    private void cancelUntil(int target) {
+        if (level <= target) {
+            return;
+        }
+        for (int index = trailSize - 1; index >= levelStarts[target + 1]; index--) {
+            int literal = trail[index];
+            int variable = literal >> 1;
+            values[literal] = 0;
+            values[literal ^ 1] = 0;
+            phases[variable] = (literal & 1) == 0;
+            if (heapIndexes[variable] < 0) {
+                heapInsert(variable);
+            }
+        }
+        trailSize = levelStarts[target + 1];
+        propagated = Math.min(propagated, trailSize);
+        level = target;
+    }
+
+    private int propagate() {
+        while (propagated < trailSize) {
+            int literal = trail[propagated++];
+            if (solveStats != null) {
+                solveStats.recordPropagation();
+            }
+            if ((literal & 1) == 0 && propagateGroups(literal)) {
+                return GROUP_CONFLICT;
+            }
+            int conflict = propagateClauses(literal ^ 1);
+            if (conflict != NO_CONFLICT) {
+                return conflict;
+            }
+        }
+        return NO_CONFLICT;
+    }
+
+    private boolean propagateGroups(int literal) {
+        int variable = literal >> 1;
+        for (int group : variableGroups[variable]) {
+            for (int other : groups.get(group)) {
+                if (other == variable) {
+                    continue;
+                }
+                int negative = 2 * other + 1;
+                if (values[negative] < 0) {
+                    conflictA = literal ^ 1;
+                    conflictB = negative;
+                    return true;
+                }
+                if (values[negative] == 0) {
+                    assign(negative, -1, literal ^ 1);
+                }
+            }
+        }
+        return false;
+    }
+
+    private int propagateClauses(int falseLiteral) {
+        int[] watchers = watches[falseLiteral];
+        int size = watchSizes[falseLiteral];
+        int kept = 0;
+        for (int index = 0; index < size; index += 2) {
+            int clauseIndex = watchers[index];
+            int blocker = watchers[index + 1];
+            if (values[blocker] > 0) {
+                watchers[kept++] = clauseIndex;
+                watchers[kept++] = blocker;
+                continue;
+            }
+            int[] clause = clauses.get(clauseIndex);
+            if (clause == null) {
+                continue;
+            }
+            if (clause[0] == falseLiteral) {
+                clause[0] = clause[1];
+                clause[1] = falseLiteral;
+            }
+            int first = clause[0];
+            if (first != blocker && values[first] > 0) {
+                watchers[kept++] = clauseIndex;
+                watchers[kept++] = first;
+                continue;
+            }
+            boolean moved = false;
+            for (int other = 2; other < clause.length; other++) {
+                if (values[clause[other]] >= 0) {
+                    clause[1] = clause[other];
+                    clause[other] = falseLiteral;
+                    watch(clause[1], clauseIndex, first);
+                    moved = true;
+                    break;
+                }
+            }
+            if (moved) {
+                continue;
+            }
+            watchers[kept++] = clauseIndex;
+            watchers[kept++] = first;
+            if (values[first] < 0) {
+                for (index += 2; index < size; index++) {
+                    watchers[kept++] = watchers[index];
+                }
+                watchSizes[falseLiteral] = kept;
+                return clauseIndex;
+            }
+            assign(first, clauseIndex, -1);
+        }
+        watchSizes[falseLiteral] = kept;
+        return NO_CONFLICT;
+    }
+
+    private void learn(int conflict) {
+        int[] literals = new int[level + 1];
+        int learntSize = 1;
+        int pending = 0;
+        int index = trailSize - 1;
+        int literal = -1;
+        int[] reason = conflict == GROUP_CONFLICT ? new int[] {conflictA, conflictB} : clauses.get(conflict);
+        int[] implication = new int[1];
+        int start = 0;
+        do {
+            for (int position = start; position < reason.length; position++) {
+                int other = reason[position];
+                int variable = other >> 1;
+                if (!seen[variable] && levels[variable] > 0) {
+                    seen[variable] = true;
+                    bumpActivity(variable);
+                    if (levels[variable] >= level) {
+                        pending++;
+                    } else {
+                        if (learntSize == literals.length) {
+                            literals = Arrays.copyOf(literals, literals.length * 2);
+                        }
+                        literals[learntSize++] = other;
+                    }
+                }
+            }
+
+            while (!seen[trail[index] >> 1]) {
+                index--;
+            }
+            literal = trail[index--];
+            int variable = literal >> 1;
+            seen[variable] = false;
+            pending--;
+            if (reasonClauses[variable] >= 0) {
+                reason = clauses.get(reasonClauses[variable]);
+                start = 1;
+            } else {
+                implication[0] = reasonLiterals[variable];
+                reason = implication;
+                start = 0;
+            }
+        } while (pending > 0);
+        literals[0] = literal ^ 1;
+
+        int marked = learntSize;
+        int[] markedLiterals = literals.clone();
+        learntSize = 1;
+        for (int position = 1; position < marked; position++) {
+            if (!isRedundant(markedLiterals[position] >> 1)) {
+                literals[learntSize++] = markedLiterals[position];
+            }
+        }
+        for (int position = 1; position < marked; position++) {
+            seen[markedLiterals[position] >> 1] = false;
+        }
+
+        int backjump = 0;
+        for (int position = 1; position < learntSize; position++) {
+            int variable = literals[position] >> 1;
+            if (levels[variable] > backjump) {
+                backjump = levels[variable];
+                int swap = literals[1];
+                literals[1] = literals[position];
+                literals[position] = swap;
+            }
+        }
+
+        cancelUntil(backjump);
+        if (learntSize == 1) {
+            assign(literals[0], -1, -1);
+        } else {
+            int[] clause = Arrays.copyOf(literals, learntSize);
+            int clauseIndex = attach(clause, true, lbd(clause));
+            assign(clause[0], clauseIndex, -1);
+        }
+    }
+
+    private boolean isRedundant(int variable) {
+        if (reasonClauses[variable] >= 0) {
+            int[] reason = clauses.get(reasonClauses[variable]);
+            for (int position = 1; position < reason.length; position++) {
+                int other = reason[position] >> 1;
+                if (!seen[other] && levels[other] > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (reasonLiterals[variable] >= 0) {
+            int other = reasonLiterals[variable] >> 1;
+            return seen[other] || levels[other] == 0;
+        }
+        return false;
+    }
+
+    private int lbd(int[] clause) {
+        int[] clauseLevels = new int[clause.length];
+        for (int index = 0; index < clause.length; index++) {
+            clauseLevels[index] = levels[clause[index] >> 1];
+        }
+        Arrays.sort(clauseLevels);
+        int count = 1;
+        for (int index = 1; index < clauseLevels.length; index++) {
+            if (clauseLevels[index] != clauseLevels[index - 1]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int attach(int[] clause, boolean isLearnt, int lbd) {
+        int clauseIndex = clauses.size();
+        clauses.add(clause);
+        if (clauseIndex >= clauseLbds.length) {
+            clauseLbds = Arrays.copyOf(clauseLbds, clauseLbds.length * 2);
+            learnt = Arrays.copyOf(learnt, clauseLbds.length);
+        }
+        clauseLbds[clauseIndex] = lbd;
+        learnt[clauseIndex] = isLearnt;
+        if (isLearnt) {
+            learntCount++;
+        }
+        watch(clause[0], clauseIndex, clause[1]);
+        watch(clause[1], clauseIndex, clause[0]);
+        return clauseIndex;
+    }
+
+    private void watch(int literal, int clauseIndex, int blocker) {
+        int[] watchers = watches[literal];
+        if (watchers == null) {
+            watchers = watches[literal] = new int[8];
+        } else if (watchSizes[literal] == watchers.length) {
+            watchers = watches[literal] = Arrays.copyOf(watchers, watchers.length * 2);
+        }
+        watchers[watchSizes[literal]++] = clauseIndex;
+        watchers[watchSizes[literal]++] = blocker;
+    }
+
+    private void reduceLearnts() {
+        List<Integer> candidates = new ArrayList<>();
+        for (int clauseIndex = 0; clauseIndex < clauses.size(); clauseIndex++) {
+            int[] clause = clauses.get(clauseIndex);
+            if (clause != null && learnt[clauseIndex] && clauseLbds[clauseIndex] > 2 && !isLocked(clauseIndex, clause)) {
+                candidates.add(clauseIndex);
+            }
+        }
+        Collections.sort(candidates, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer first, Integer second) {
+                return Integer.compare(clauseLbds[second], clauseLbds[first]);
+            }
+        });
+        for (int index = 0; index < candidates.size() / 2; index++) {
+            clauses.set(candidates.get(index), null);
+            learntCount--;
+        }
+        maxLearnts += maxLearnts / 10;
+    }
+
+    private boolean isLocked(int clauseIndex, int[] clause) {
+        return values[clause[0]] > 0 && reasonClauses[clause[0] >> 1] == clauseIndex;
+    }
+
+    private int nextVariable() {
+        while (heapSize > 0) {
+            int variable = heapRemoveMax();
+            if (values[2 * variable] == 0) {
+                return variable;
+            }
+        }
+        return -1;
+    }
+
+    private void bumpActivity(int variable) {
+        activities[variable] += activityIncrement;
+        if (activities[variable] > ACTIVITY_LIMIT) {
+            for (int other = 0; other < variableCount; other++) {
+                activities[other] /= ACTIVITY_LIMIT;
+            }
+            activityIncrement /= ACTIVITY_LIMIT;
+        }
+        if (heapIndexes[variable] >= 0) {
+            siftUp(heapIndexes[variable]);
+        }
+    }
+
+    private void decayActivities() {
+        activityIncrement /= ACTIVITY_DECAY;
+    }
+
+    private void heapInsert(int variable) {
+        heap[heapSize] = variable;
+        heapIndexes[variable] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int heapRemoveMax() {
+        int top = heap[0];
+        heapIndexes[top] = -1;
+        int last = heap[--heapSize];
+        if (heapSize > 0) {
+            heap[0] = last;
+            heapIndexes[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int index) {
+        int variable = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >> 1;
+            if (!isBefore(variable, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heapIndexes[heap[index]] = index;
+            index = parent;
+        }
+        heap[index] = variable;
+        heapIndexes[variable] = index;
+    }
+
+    private void siftDown(int index) {
+        int variable = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && isBefore(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!isBefore(heap[child], variable)) {
+                break;
+            }
+            heap[index] = heap[child];
+            heapIndexes[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = variable;
+        heapIndexes[variable] = index;
+    }
+
+    private boolean isBefore(int first, int second) {
+        return activities[first] > activities[second] || (activities[first] == activities[second] && first < second);
+    }
+
+    private static int indexOf(int[] literals, int size, int literal) {
+        for (int index = 0; index < size; index++) {
+            if (literals[index] == literal) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static long luby(int index) {
+        int size = 1;
+        int sequence = 0;
+        while (size < index + 1) {
+            sequence++;
+            size = 2 * size + 1;
+        }
+        while (size - 1 != index) {
+            size = (size - 1) >> 1;
+            sequence--;
+            index = index % size;
+        }
+        return 1L << sequence;
+    }
+}
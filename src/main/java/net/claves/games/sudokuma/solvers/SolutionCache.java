@@ -0,0 +1,69 @@
+package net.claves.games.sudokuma.solvers;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class SolutionCache {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final Map<String, String> solutions;
+    private long hitCount;
+    private long missCount;
+
+    public SolutionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SolutionCache(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be at least 1.");
+        }
+        this.capacity = capacity;
+        this.solutions = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized String get(String key) {
+        String solution = solutions.get(key);
+        if (solution == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return solution;
+    }
+
+    public synchronized void put(String key, String solution) {
+        solutions.put(key, solution);
+    }
+
+    public synchronized int size() {
+        return solutions.size();
+    }
+
+    public synchronized void clear() {
+        solutions.clear();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+}
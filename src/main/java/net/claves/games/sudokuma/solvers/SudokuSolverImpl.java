@@ -2,232 +2,579 @@ package net.claves.games.sudokuma.solvers;
 
 import net.claves.games.Grid;
 import net.claves.games.Position;
+import net.claves.games.sudokuma.CancellationToken;
+import net.claves.games.sudokuma.SolutionCount;
+import net.claves.games.sudokuma.SolveOptions;
+import net.claves.games.sudokuma.SolveResult;
+import net.claves.games.sudokuma.SolveStats;
+import net.claves.games.sudokuma.SolveStatus;
+import net.claves.games.sudokuma.SolverListener;
 import net.claves.games.sudokuma.SudokuSolver;
 import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.candidates.CandidateSet;
+import net.claves.games.sudokuma.deductions.DeductionRule;
 import net.claves.games.sudokuma.exceptions.MultipleSolutionsException;
 import net.claves.games.sudokuma.exceptions.UnsolvableSudokuException;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class SudokuSolverImpl implements SudokuSolver {
+    public static final int DEFAULT_PARALLEL_DEPTH = 4;
+
+    private final SearchMode searchMode;
+    private ForkJoinPool forkJoinPool;
+    private int parallelDepth = DEFAULT_PARALLEL_DEPTH;
+    private boolean checkUniqueness = true;
+    private BranchingStrategy branchingStrategy = new MinimumRemainingValuesStrategy();
+    private List<DeductionRule> deductionRules = Collections.emptyList();
+    private List<SolverListener> listeners = new CopyOnWriteArrayList<>();
+
     private SudokuGrid sudokuGrid;
-    private Set<SudokuGrid> solutions;
+    private SolutionSink solutions;
 
     private int size;
-    private boolean changed;
+    private CandidateTrail trail;
+    private ConstraintPropagator propagator;
+
+    private SolveStats stats;
+    private int depth;
+
+    private Limits limits;
+    private SudokuGrid partial;
+    private Position contradiction;
+
+    public SudokuSolverImpl() {
+        this(SearchMode.COPY);
+    }
+
+    public SudokuSolverImpl(SearchMode searchMode) {
+        this.searchMode = searchMode;
+    }
+
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool == null ? ForkJoinPool.commonPool() : forkJoinPool;
+    }
+
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    public int getParallelDepth() {
+        return parallelDepth;
+    }
+
+    public void setParallelDepth(int parallelDepth) {
+        if (parallelDepth < 0) {
+            throw new IllegalArgumentException("The parallel depth cannot be negative.");
+        }
+        this.parallelDepth = parallelDepth;
+    }
+
+    public boolean isCheckUniqueness() {
+        return checkUniqueness;
+    }
+
+    public void setCheckUniqueness(boolean checkUniqueness) {
+        this.checkUniqueness = checkUniqueness;
+    }
+
+    public BranchingStrategy getBranchingStrategy() {
+        return branchingStrategy;
+    }
+
+    public void setBranchingStrategy(BranchingStrategy branchingStrategy) {
+        if (branchingStrategy == null) {
+            throw new IllegalArgumentException("The branching strategy cannot be null.");
+        }
+        this.branchingStrategy = branchingStrategy;
+    }
+
+    public List<DeductionRule> getDeductionRules() {
+        return deductionRules;
+    }
+
+    public void setDeductionRules(List<DeductionRule> deductionRules) {
+        this.deductionRules = Collections.unmodifiableList(new ArrayList<>(deductionRules));
+    }
+
+    public List<SolverListener> getSolverListeners() {
+        return Collections.unmodifiableList(listeners);
+    }
+
+    public void addSolverListener(SolverListener solverListener) {
+        listeners.add(solverListener);
+    }
+
+    public void removeSolverListener(SolverListener solverListener) {
+        listeners.remove(solverListener);
+    }
 
     @Override
     public SudokuGrid solve(SudokuGrid sudokuGrid) {
-        this.sudokuGrid = sudokuGrid;
-        this.size = sudokuGrid.getSize();
-        this.solutions = new HashSet<>();
+        return solve(sudokuGrid, (SolveStats) null);
+    }
 
-        doSolve();
+    @Override
+    public SolveResult solve(SudokuGrid sudokuGrid, SolveOptions solveOptions) {
+        return solve(sudokuGrid, solveOptions, null);
+    }
 
-        if (!sudokuGrid.solved()) {
-            throw new UnsolvableSudokuException(sudokuGrid, "Cannot find a valid solution!");
+    public SolveResult solve(SudokuGrid sudokuGrid, SolveOptions solveOptions, SolveStats solveStats) {
+        SudokuSolverImpl solver = newSolver(searchMode);
+        solver.limits = new Limits(solveOptions);
+        long[] start = solver.startStats(sudokuGrid, solveStats);
+        try {
+            return solver.solveResult(sudokuGrid);
+        } finally {
+            solver.finishStats(sudokuGrid, solveStats, start);
         }
+    }
 
-        return sudokuGrid;
+    @Override
+    public SudokuGrid solve(SudokuGrid sudokuGrid, SolveStats solveStats) {
+        SudokuSolverImpl solver = newSolver(searchMode);
+        long[] start = solver.startStats(sudokuGrid, solveStats);
+        try {
+            return solver.solveGrid(sudokuGrid);
+        } finally {
+            solver.finishStats(sudokuGrid, solveStats, start);
+        }
     }
 
-    private void doSolve() {
-        attemptDeterministicSolution();
-        if (sudokuGrid.solved()) {
-            solutions.add(sudokuGrid.copy());
-        } else {
-            for (Grid.Item item : sudokuGrid) {
-                if (item instanceof SudokuGrid.VariableItem) {
-                    SudokuGrid.VariableItem variableItem = (SudokuGrid.VariableItem) item;
-                    if (!variableItem.solved()) {
-                        Set<Integer> possibilities = new HashSet<>(variableItem.getPossibilities());
-                        for (Integer guess : possibilities) {
-                            variableItem.solve(guess);
-                            try {
-                                solutions.add(new SudokuSolverImpl().solve(sudokuGrid.copy()));
-                            } catch (UnsolvableSudokuException ignored) {
-                            }
-
-                            if (solutions.size() > 1) {
-                                throw new MultipleSolutionsException(sudokuGrid, solutions);
-                            }
-                            variableItem.setPossibilities(new HashSet<>(possibilities));
-                            variableItem.setValue(null);
-                        }
-                    }
+    @Override
+    public SolutionCount countSolutions(SudokuGrid sudokuGrid, int limit, int maxSolutions) {
+        return countSolutions(sudokuGrid, limit, maxSolutions, null);
+    }
+
+    public SolutionCount countSolutions(SudokuGrid sudokuGrid, int limit, int maxSolutions, SolveStats solveStats) {
+        SudokuSolverImpl solver = newSolver(searchMode);
+        long[] start = solver.startStats(sudokuGrid, solveStats);
+        try {
+            return solver.countGridSolutions(sudokuGrid, limit, maxSolutions);
+        } finally {
+            solver.finishStats(sudokuGrid, solveStats, start);
+        }
+    }
+
+    private long[] startStats(SudokuGrid sudokuGrid, SolveStats solveStats) {
+        if (solveStats == null && listeners.isEmpty()) {
+            return null;
+        }
+        stats = new SolveStats();
+        for (SolverListener listener : listeners) {
+            listener.solveStarted(sudokuGrid);
+        }
+        return new long[] {System.nanoTime(), SolveStats.currentThreadCpuTime()};
+    }
+
+    private void finishStats(SudokuGrid sudokuGrid, SolveStats solveStats, long[] start) {
+        if (start == null) {
+            return;
+        }
+        stats.recordSolve(System.nanoTime() - start[0], SolveStats.currentThreadCpuTime() - start[1]);
+        if (solveStats != null) {
+            solveStats.add(stats);
+        }
+        for (SolverListener listener : listeners) {
+            listener.solveFinished(sudokuGrid, stats);
+        }
+    }
+
+    private SudokuGrid solveGrid(SudokuGrid sudokuGrid) {
+        switch (solveStatus(sudokuGrid)) {
+            case SOLVED:
+                return sudokuGrid;
+            case MULTIPLE_SOLUTIONS:
+                throw new MultipleSolutionsException(sudokuGrid, new HashSet<>(solutions.getSolutions()));
+            default:
+                if (contradiction != null) {
+                    throw new UnsolvableSudokuException(sudokuGrid, "Item " + contradiction + " has no valid possible value.");
                 }
-            }
+                throw new UnsolvableSudokuException(sudokuGrid, "Cannot find a valid solution!");
         }
     }
 
-    private void attemptDeterministicSolution() {
-        do {
-            changed = false;
-            for (Grid.Item item : sudokuGrid) {
-                solveItem(item);
-            }
-            for (int index = 0; index < size; index++) {
-                trimNeighborPossibilitiesUsingRegion(sudokuGrid.getRegion(index));
-            }
-        } while (changed);
+    private SolveResult solveResult(SudokuGrid sudokuGrid) {
+        SolveStatus status = solveStatus(sudokuGrid);
+        if (isStopped() && partial != null) {
+            return new SolveResult(status, partial);
+        }
+        return new SolveResult(status, sudokuGrid, contradiction);
     }
 
-    private boolean solveVariable(SudokuGrid.VariableItem variableItem) {
-        int rowIndex = variableItem.getRowIndex();
-        int columnIndex = variableItem.getColumnIndex();
+    private SolveStatus solveStatus(SudokuGrid sudokuGrid) {
+        int limit = checkUniqueness ? 2 : 1;
+        initialize(sudokuGrid, new SolutionSink(limit, limit));
+        boolean consistent = search(searchMode);
+        if (isStopped()) {
+            return limits.getStatus();
+        }
+        if (!consistent) {
+            contradiction = propagator.getContradiction();
+            return SolveStatus.UNSOLVABLE;
+        }
 
-        trimPossibilitiesUsingNeighbors(variableItem, sudokuGrid.getRow(rowIndex));
-        trimPossibilitiesUsingNeighbors(variableItem, sudokuGrid.getColumn(columnIndex));
-        if (sudokuGrid.hasRegions()) {
-            trimPossibilitiesUsingNeighbors(variableItem, sudokuGrid.getRegion(variableItem.getPosition()));
+        int count = solutions.getCount();
+        if (count > 1) {
+            return SolveStatus.MULTIPLE_SOLUTIONS;
+        }
+        if (count == 1 && !sudokuGrid.solved()) {
+            applySolution(solutions.getSolutions().get(0));
+        }
+        return sudokuGrid.solved() ? SolveStatus.SOLVED : SolveStatus.UNSOLVABLE;
+    }
+
+    private SolutionCount countGridSolutions(SudokuGrid sudokuGrid, int limit, int maxSolutions) {
+        initialize(sudokuGrid.copy(), new SolutionSink(limit, maxSolutions));
+        search(searchMode == SearchMode.PARALLEL ? SearchMode.PARALLEL : SearchMode.IN_PLACE);
+        return new SolutionCount(solutions.getCount(), limit, solutions.getSolutions());
+    }
+
+    private boolean search(SearchMode mode) {
+        switch (mode) {
+            case IN_PLACE:
+                trail = new CandidateTrail(size * size * size);
+                propagator = newPropagator(sudokuGrid, trail);
+                int mark = trail.mark();
+                try {
+                    if (!propagator.initialize()) {
+                        return false;
+                    }
+                    searchInPlace();
+                    if (isStopped()) {
+                        partial = sudokuGrid.copy();
+                    }
+                    return true;
+                } finally {
+                    trail.undo(mark);
+                    trail = null;
+                }
+            case PARALLEL:
+                propagator = newPropagator(sudokuGrid, null);
+                if (!propagator.initialize()) {
+                    return false;
+                }
+                getForkJoinPool().invoke(new BranchTask(sudokuGrid, 0));
+                return true;
+            default:
+                return doSolve();
         }
-        return variableItem.solved();
     }
 
-    private void trimPossibilitiesUsingNeighbors(SudokuGrid.VariableItem variableItem, Grid.Item[] array) {
-        trimPossibilitiesUsingNeighborValues(variableItem, array);
-        trimPossibilitiesUsingNeighborPossibilities(variableItem, array);
+    private void initialize(SudokuGrid sudokuGrid, SolutionSink solutions) {
+        this.sudokuGrid = sudokuGrid;
+        this.size = sudokuGrid.getSize();
+        this.solutions = solutions;
+    }
+
+    private SudokuSolverImpl newSolver(SearchMode searchMode) {
+        SudokuSolverImpl solver = new SudokuSolverImpl(searchMode);
+        solver.forkJoinPool = forkJoinPool;
+        solver.parallelDepth = parallelDepth;
+        solver.checkUniqueness = checkUniqueness;
+        solver.branchingStrategy = branchingStrategy;
+        solver.deductionRules = deductionRules;
+        solver.listeners = listeners;
+        solver.stats = stats;
+        solver.depth = depth;
+        solver.limits = limits;
+        return solver;
     }
 
-    private void trimPossibilitiesUsingNeighborPossibilities(SudokuGrid.VariableItem variableItem, Grid.Item[] array) {
-        if (!variableItem.solved()) {
-            Set<Integer> possibilities = new HashSet<>(variableItem.getPossibilities());
-            for (Grid.Item<Integer> item : array) {
-                if (!variableItem.equals(item)) {
-                    if (item instanceof SudokuGrid.VariableItem) {
-                        possibilities.removeAll(((SudokuGrid.VariableItem) item).getPossibilities());
-                    } else {
-                        possibilities.remove(item.getValue());
+    private ConstraintPropagator newPropagator(SudokuGrid sudokuGrid, CandidateTrail trail) {
+        ConstraintPropagator propagator = new ConstraintPropagator(sudokuGrid, trail);
+        propagator.setDeductionRules(deductionRules);
+        propagator.setSolveStats(stats);
+        return propagator;
+    }
+
+    private boolean doSolve() {
+        propagator = newPropagator(sudokuGrid, null);
+        if (!propagator.initialize()) {
+            return false;
+        }
+        if (isLimitReached()) {
+            return true;
+        }
+        visitNode();
+        if (isSolution()) {
+            addSolution(sudokuGrid);
+        } else {
+            SudokuGrid.VariableItem variableItem = branchingStrategy.selectVariable(sudokuGrid);
+            if (variableItem != null) {
+                CandidateSet possibilities = variableItem.getCandidates().copy();
+                for (int guess : branchingStrategy.orderValues(sudokuGrid, variableItem)) {
+                    guessed(variableItem, guess);
+                    variableItem.solve(guess);
+                    SudokuSolverImpl child = newSolver(searchMode);
+                    child.depth = depth + 1;
+                    SudokuGrid childGrid = sudokuGrid.copy();
+                    SolveStatus status = child.solveStatus(childGrid);
+                    if (status == SolveStatus.SOLVED && solutions.add(childGrid)) {
+                        break;
                     }
-                    if (possibilities.isEmpty()) {
-                        return;
+                    if (status == SolveStatus.MULTIPLE_SOLUTIONS && addAll(child.solutions.getSolutions())) {
+                        break;
                     }
+                    variableItem.getCandidates().copyFrom(possibilities);
+                    variableItem.setValue(null);
+                    if (isStopped()) {
+                        break;
+                    }
+                    backtracked(variableItem, guess);
                 }
             }
-            if (possibilities.size() == 1) {
-                variableItem.solve(possibilities.iterator().next());
-                fireGridChanged(variableItem);
+        }
+        return true;
+    }
+
+    private boolean addAll(List<SudokuGrid> found) {
+        for (SudokuGrid solution : found) {
+            if (solutions.add(solution)) {
+                return true;
             }
         }
+        return solutions.isDone();
     }
 
-    private void trimPossibilitiesUsingNeighborValues(SudokuGrid.VariableItem variableItem, Grid.Item[] array) {
-        if (!variableItem.solved()) {
-            for (Grid.Item<Integer> item : array) {
-                if (!item.equals(variableItem) && variableItem.removePossibility(item.getValue())) {
-                    fireGridChanged(variableItem);
-                }
+    private boolean searchInPlace() {
+        if (solutions.isDone() || isLimitReached()) {
+            return true;
+        }
+        visitNode();
+        SudokuGrid.VariableItem variableItem = branchingStrategy.selectVariable(sudokuGrid);
+        if (variableItem == null) {
+            return !sudokuGrid.hasConflicts() && addSolution(sudokuGrid);
+        }
+        int[] guesses = branchingStrategy.orderValues(sudokuGrid, variableItem);
+        boolean stop = false;
+        for (int index = 0; index < guesses.length && !stop; index++) {
+            int mark = trail.mark();
+            guessed(variableItem, guesses[index]);
+            if (propagator.assign(variableItem, guesses[index]) && propagator.propagate()) {
+                depth++;
+                stop = searchInPlace();
+                depth--;
             }
+            if (!stop) {
+                backtracked(variableItem, guesses[index]);
+            }
+            trail.undo(mark);
         }
+        return stop;
     }
 
-    private void fireGridChanged(SudokuGrid.VariableItem variableItem) {
-        changed = true;
-        Set<Integer> possibilities = variableItem.getPossibilities();
-        if (possibilities.isEmpty()) {
-            Position position = variableItem.getPosition();
-            throw new UnsolvableSudokuException(sudokuGrid.copy(), "Item " + position + " has no valid possible value.");
+    private boolean isLimitReached() {
+        return limits != null && limits.isReached();
+    }
+
+    private boolean isStopped() {
+        return limits != null && limits.getStatus() != null;
+    }
+
+    private void visitNode() {
+        if (stats != null) {
+            stats.recordNode(depth);
+            for (SolverListener listener : listeners) {
+                listener.nodeVisited(depth);
+            }
         }
+    }
 
-        if (!variableItem.solved() && possibilities.size() == 1) {
-            variableItem.setValue(possibilities.iterator().next());
+    private void guessed(SudokuGrid.VariableItem variableItem, int value) {
+        if (stats != null) {
+            stats.recordGuess();
+            for (SolverListener listener : listeners) {
+                listener.guessed(variableItem.getPosition(), value, depth);
+            }
         }
+    }
 
-        solveNeighbors(variableItem.getPosition());
+    private void backtracked(SudokuGrid.VariableItem variableItem, int value) {
+        if (stats != null) {
+            stats.recordBacktrack();
+            for (SolverListener listener : listeners) {
+                listener.backtracked(variableItem.getPosition(), value, depth);
+            }
+        }
     }
 
-    private void solveNeighbors(Position position) {
-        Grid.Item[] row = sudokuGrid.getRow(position.x);
-        Grid.Item[] column = sudokuGrid.getColumn(position.y);
-        Grid.Item[] region = null;
-        if (sudokuGrid.hasRegions()) {
-            region = sudokuGrid.getRegion(position);
+    private boolean addSolution(SudokuGrid solution) {
+        if (stats != null) {
+            for (SolverListener listener : listeners) {
+                listener.solutionFound(solution, depth);
+            }
         }
-        for (int index = 0; index < size; index++) {
-            solveItem(row[index]);
-            solveItem(column[index]);
-            if (sudokuGrid.hasRegions()) {
-                solveItem(region[index]);
+        return solutions.add(solution);
+    }
+
+    private SudokuGrid.VariableItem findUnsolvedVariable() {
+        for (int row = 0; row < size; row++) {
+            Grid.Item[] items = sudokuGrid.getRow(row);
+            for (int column = 0; column < size; column++) {
+                Grid.Item item = items[column] == null ? sudokuGrid.get(row, column) : items[column];
+                if (item instanceof SudokuGrid.VariableItem && !((SudokuGrid.VariableItem) item).solved()) {
+                    return (SudokuGrid.VariableItem) item;
+                }
             }
         }
+        return null;
+    }
+
+    private boolean isSolution() {
+        return findUnsolvedVariable() == null && !sudokuGrid.hasConflicts();
     }
 
-    private void trimNeighborPossibilitiesUsingRegion(Grid.Item[] region) {
-        Map<Integer, Set<Position>> positionsMap = new HashMap<>();
-        Position disqualifiedFlag = new Position(-1, -1);
-        Position rowFlag = new Position(1, -1);
-        Position columnFlag = new Position(-1, 1);
-        for (Grid.Item item : region) {
+    private void applySolution(SudokuGrid solution) {
+        for (Grid.Item item : sudokuGrid) {
             if (item instanceof SudokuGrid.VariableItem) {
-                for (Integer possibility : ((SudokuGrid.VariableItem) item).getPossibilities()) {
-                    Set<Position> positionSet = positionsMap.get(possibility);
-                    if (positionSet == null) {
-                        positionSet = new HashSet<>();
-                        positionSet.add(item.getPosition());
-                        positionsMap.put(possibility, positionSet);
-                    } else if (!positionSet.contains(disqualifiedFlag)) {
-                        Iterator<Position> positionSetIterator = positionSet.iterator();
-                        Position position = item.getPosition();
-                        if (positionSet.size() == 1) {
-                            Position previousPosition = positionSetIterator.next();
-                            if (position.x == previousPosition.x) {
-                                positionSet.add(rowFlag);
-                            } else if (position.y == previousPosition.y) {
-                                positionSet.add(columnFlag);
-                            } else {
-                                positionSet.add(disqualifiedFlag);
-                            }
-                        } else {
-                            Position previousPosition = positionSetIterator.next();
-                            if (previousPosition.x == -1 || previousPosition.y == -1) {
-                                previousPosition = positionSetIterator.next();
-                            }
-
-                            if (positionSet.contains(rowFlag) && previousPosition.x != position.x) {
-                                positionSet.add(disqualifiedFlag);
-                            } else if (positionSet.contains(columnFlag) && previousPosition.y != position.y) {
-                                positionSet.add(disqualifiedFlag);
-                            }
-                        }
-                    }
-                }
+                ((SudokuGrid.VariableItem) item).solve(solution.get(item.getPosition()).getValue());
             }
         }
+    }
 
-        for (Map.Entry<Integer, Set<Position>> entry : positionsMap.entrySet()) {
-            Set<Position> positionSet = entry.getValue();
-            Iterator<Position> positionSetIterator = positionSet.iterator();
-            if (!positionSet.contains(disqualifiedFlag)) {
-                Position position = positionSetIterator.next();
-                if (position.x == -1 || position.y == -1) {
-                    position = positionSetIterator.next();
-                }
+    public enum SearchMode {
+        COPY,
+        IN_PLACE,
+        PARALLEL
+    }
 
-                Grid.Item[] itemsToUpdate;
-                if (positionSet.contains(rowFlag)) {
-                    itemsToUpdate = sudokuGrid.getRow(position.x);
-                } else if (positionSet.contains(columnFlag)) {
-                    itemsToUpdate = sudokuGrid.getColumn(position.y);
-                } else {
-                    continue;
-                }
+    private class BranchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
 
-                for (Grid.Item item : itemsToUpdate) {
-                    if (item instanceof SudokuGrid.VariableItem && !sudokuGrid.getRegion(item.getPosition()).equals(region)) {
-                        SudokuGrid.VariableItem variableItem = (SudokuGrid.VariableItem) item;
-                        if (!variableItem.solved() && variableItem.removePossibility(entry.getKey())) {
-                            fireGridChanged(variableItem);
-                        }
-                    }
+        private final SudokuGrid branchGrid;
+        private final int depth;
+
+        private BranchTask(SudokuGrid branchGrid, int depth) {
+            this.branchGrid = branchGrid;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (solutions.isDone() || isLimitReached()) {
+                return;
+            }
+
+            SudokuSolverImpl branch = newSolver(SearchMode.IN_PLACE);
+            branch.initialize(branchGrid, solutions);
+            branch.depth = depth;
+            branch.stats = stats == null ? null : new SolveStats();
+            try {
+                compute(branch);
+            } finally {
+                if (stats != null) {
+                    stats.add(branch.stats);
                 }
             }
         }
+
+        private void compute(SudokuSolverImpl branch) {
+            if (depth >= parallelDepth) {
+                branch.search(SearchMode.IN_PLACE);
+                return;
+            }
+
+            if (!branch.newPropagator(branchGrid, null).initialize()) {
+                return;
+            }
+            branch.visitNode();
+            if (branch.isSolution()) {
+                branch.addSolution(branchGrid);
+                return;
+            }
+
+            SudokuGrid.VariableItem variableItem = branchingStrategy.selectVariable(branchGrid);
+            if (variableItem == null) {
+                return;
+            }
+            int[] guesses = branchingStrategy.orderValues(branchGrid, variableItem);
+            List<BranchTask> branches = new ArrayList<>(guesses.length);
+            for (int guess : guesses) {
+                branch.guessed(variableItem, guess);
+                SudokuGrid guessGrid = branchGrid.copy();
+                ((SudokuGrid.VariableItem) guessGrid.get(variableItem.getPosition())).solve(guess);
+                branches.add(new BranchTask(guessGrid, depth + 1));
+            }
+            invokeAll(branches);
+        }
     }
 
-    private boolean solveItem(Grid.Item item) {
-        if (item instanceof SudokuGrid.VariableItem) {
-            return solveVariable((SudokuGrid.VariableItem) item);
+    private static class Limits {
+        private final long deadline;
+        private final boolean hasDeadline;
+        private final long maxNodes;
+        private final CancellationToken cancellationToken;
+        private final AtomicLong nodes = new AtomicLong();
+        private volatile SolveStatus status;
+
+        private Limits(SolveOptions solveOptions) {
+            this.hasDeadline = solveOptions.hasTimeout();
+            this.deadline = hasDeadline ? System.nanoTime() + solveOptions.getTimeoutNanos() : 0;
+            this.maxNodes = solveOptions.getMaxNodes();
+            this.cancellationToken = solveOptions.getCancellationToken();
+        }
+
+        private boolean isReached() {
+            if (status != null) {
+                return true;
+            }
+            if (cancellationToken != null && cancellationToken.isCancelled()) {
+                status = SolveStatus.CANCELLED;
+            } else if (maxNodes > 0 && nodes.incrementAndGet() > maxNodes) {
+                status = SolveStatus.BUDGET_EXCEEDED;
+            } else if (hasDeadline && System.nanoTime() - deadline > 0) {
+                status = SolveStatus.TIMED_OUT;
+            }
+            return status != null;
+        }
+
+        private SolveStatus getStatus() {
+            return status;
+        }
+    }
+
+    private static class SolutionSink {
+        private final int limit;
+        private final int maxSolutions;
+        private final List<SudokuGrid> solutions = new ArrayList<>();
+        private int count;
+        private volatile boolean done;
+
+        private SolutionSink(int limit, int maxSolutions) {
+            this.limit = limit;
+            this.maxSolutions = maxSolutions;
+            this.done = limit <= 0;
+        }
+
+        private synchronized boolean add(SudokuGrid solution) {
+            if (!done) {
+                if (solutions.size() < maxSolutions) {
+                    solutions.add(solution.copy());
+                }
+                done = ++count >= limit;
+            }
+            return done;
+        }
+
+        private boolean isDone() {
+            return done;
+        }
+
+        private synchronized int getCount() {
+            return count;
+        }
+
+        private synchronized List<SudokuGrid> getSolutions() {
+            return new ArrayList<>(solutions);
         }
-        return true;
     }
 }
@@ -5,6 +5,9 @@ import net.claves.games.sudokuma.SudokuGrid;
 import net.claves.games.sudokuma.SudokuValidator;
 
 public class GivenCountValidator implements SudokuValidator {
+    public static int getMinimumGivenCount(int size) {
+        return (int) (size / 0.5625) + 1;
+    }
 
     @Override
     public boolean isValid(SudokuGrid sudokuGrid) {
@@ -19,6 +22,6 @@ public class GivenCountValidator implements SudokuValidator {
             }
         }
 
-        return givenCount > (int)(size / 0.5625);
+        return givenCount >= getMinimumGivenCount(size);
     }
 }
@@ -0,0 +1,79 @@
+package net.claves.games.sudokuma.validators;
+
+import net.claves.games.Grid;
+import net.claves.games.Position;
+import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.SudokuTopology;
+import net.claves.games.sudokuma.SudokuValidator;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class IncrementalUniqueItemsValidator implements SudokuValidator, Grid.Listener<Integer> {
+    private final SudokuTopology topology;
+    private final int size;
+    private final int[] counts;
+    private int conflicts;
+
+    public IncrementalUniqueItemsValidator(int sudokuSize) {
+        this.topology = SudokuTopology.forSize(sudokuSize);
+        this.size = sudokuSize;
+        this.counts = new int[topology.getUnitCount() * (size + 1)];
+    }
+
+    @Override
+    public void itemChanged(Grid.Item<Integer> item, Integer oldValue, Integer newValue) {
+        int cell = topology.cell(item.getRowIndex(), item.getColumnIndex());
+        if (oldValue != null && oldValue >= 1 && oldValue <= size) {
+            for (int unit : topology.getCellUnits(cell)) {
+                if (--counts[unit * (size + 1) + oldValue] == 1) {
+                    conflicts--;
+                }
+            }
+        }
+        if (newValue != null && newValue >= 1 && newValue <= size) {
+            for (int unit : topology.getCellUnits(cell)) {
+                if (++counts[unit * (size + 1) + newValue] == 2) {
+                    conflicts++;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void cleared() {
+        Arrays.fill(counts, 0);
+        conflicts = 0;
+    }
+
+    @Override
+    public boolean isValid(SudokuGrid sudokuGrid) {
+        return conflicts == 0;
+    }
+
+    public boolean hasConflicts() {
+        return conflicts > 0;
+    }
+
+    public int getCount(int unit, int value) {
+        return counts[unit * (size + 1) + value];
+    }
+
+    public Set<Position> getConflictingPositions(SudokuGrid sudokuGrid) {
+        Set<Position> positions = new LinkedHashSet<>();
+        if (conflicts == 0) {
+            return positions;
+        }
+        for (int unit = 0; unit < topology.getUnitCount(); unit++) {
+            for (int cell : topology.getUnitCells(unit)) {
+                Grid.Item<Integer> item = sudokuGrid.get(cell);
+                Integer value = item.getValue();
+                if (value != null && value >= 1 && value <= size && counts[unit * (size + 1) + value] > 1) {
+                    positions.add(item.getPosition());
+                }
+            }
+        }
+        return positions;
+    }
+}
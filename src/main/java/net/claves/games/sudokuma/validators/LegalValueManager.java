@@ -3,20 +3,17 @@ package net.claves.games.sudokuma.validators;
 import net.claves.games.Grid;
 import net.claves.games.sudokuma.SudokuGrid;
 import net.claves.games.sudokuma.SudokuValidator;
+import net.claves.games.sudokuma.candidates.CandidateSet;
 
-import java.util.HashSet;
 import java.util.Set;
 
 public class LegalValueManager implements SudokuValidator {
-    private Set<Integer> legalValues;
+    private CandidateSet legalValues;
     private int sudokuSize;
 
     public LegalValueManager(int sudokuSize) {
         this.sudokuSize = sudokuSize;
-        this.legalValues = new HashSet<>();
-        for (int i = 1; i <= sudokuSize; i++) {
-            legalValues.add(i);
-        }
+        this.legalValues = CandidateSet.range(1, sudokuSize);
     }
 
     public boolean isValueLegal(Integer value) {
@@ -25,7 +22,11 @@ public class LegalValueManager implements SudokuValidator {
     }
 
     public Set<Integer> getLegalValues() {
-        return new HashSet<>(legalValues);
+        return legalValues.toSet();
+    }
+
+    public CandidateSet getLegalCandidates() {
+        return legalValues.copy();
     }
 
     @Override
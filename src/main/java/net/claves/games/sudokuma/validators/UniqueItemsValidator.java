@@ -29,9 +29,9 @@ public class UniqueItemsValidator implements SudokuValidator {
     }
 
     private boolean isListUnique(Grid.Item[] list) {
-        Set<Grid.Item> processedItems = new HashSet<>();
+        Set<Object> processedValues = new HashSet<>();
         for (Grid.Item item : list) {
-            if (item.getValue() != null && !processedItems.add(item)) {
+            if (item.getValue() != null && !processedValues.add(item.getValue())) {
                 return false;
             }
         }
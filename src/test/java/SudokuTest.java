@@ -1,17 +1,78 @@
 import net.claves.games.Grid;
+import net.claves.games.Position;
+import net.claves.games.sudokuma.CancellationToken;
+import net.claves.games.sudokuma.CanonicalForm;
+import net.claves.games.sudokuma.CompactSudokuGrid;
+import net.claves.games.sudokuma.Difficulty;
+import net.claves.games.sudokuma.DiggingPuzzleGenerator;
+import net.claves.games.sudokuma.PuzzleDigger;
+import net.claves.games.sudokuma.PuzzlePool;
+import net.claves.games.sudokuma.SolutionCount;
+import net.claves.games.sudokuma.SolutionGridGenerator;
+import net.claves.games.sudokuma.SolveOptions;
+import net.claves.games.sudokuma.SolveResult;
+import net.claves.games.sudokuma.SolveStats;
+import net.claves.games.sudokuma.SolveStatus;
+import net.claves.games.sudokuma.SolverListener;
+import net.claves.games.sudokuma.SudokuBatchSolver;
+import net.claves.games.sudokuma.SudokuCanonicalizer;
 import net.claves.games.sudokuma.SudokuGrid;
+import net.claves.games.sudokuma.SudokuSolver;
+import net.claves.games.sudokuma.SudokuTopology;
+import net.claves.games.sudokuma.exceptions.MultipleSolutionsException;
+import net.claves.games.sudokuma.candidates.CandidateSet;
+import net.claves.games.sudokuma.candidates.WordArrayCandidateSet;
+import net.claves.games.sudokuma.deductions.DeductionRules;
+import net.claves.games.sudokuma.io.SudokuFileReader;
+import net.claves.games.sudokuma.io.SudokuFileWriter;
+import net.claves.games.sudokuma.io.SudokuFormat;
+import net.claves.games.sudokuma.solvers.BitboardSolver;
+import net.claves.games.sudokuma.solvers.BranchingStrategy;
+import net.claves.games.sudokuma.solvers.CachingSudokuSolver;
+import net.claves.games.sudokuma.solvers.CdclSolver;
+import net.claves.games.sudokuma.solvers.CandidateTrail;
+import net.claves.games.sudokuma.solvers.ConstraintPropagator;
+import net.claves.games.sudokuma.solvers.DancingLinksSolver;
+import net.claves.games.sudokuma.solvers.LeastConstrainingValueStrategy;
+import net.claves.games.sudokuma.solvers.MinimumRemainingValuesStrategy;
+import net.claves.games.sudokuma.solvers.RowMajorBranchingStrategy;
+import net.claves.games.sudokuma.solvers.SatSolver;
+import net.claves.games.sudokuma.solvers.SudokuSolverImpl;
 import net.claves.games.sudokuma.exceptions.UnsolvableSudokuException;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class SudokuTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     @Test
     public void testParseArrayGrid() {
         Integer[][] values = new Integer[9][9];
@@ -177,4 +238,974 @@ public class SudokuTest {
             assertEquals(gridValue, listValue);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCandidateSets() {
+        for (int size : new int[] {9, 64, 100}) {
+            CandidateSet candidates = CandidateSet.range(1, size);
+            assertEquals(size, candidates.size());
+            assertTrue(candidates.remove(1));
+            assertFalse(candidates.remove(1));
+            assertEquals(2, candidates.first());
+            assertEquals(size, candidates.get(size - 2));
+            assertEquals(-1, candidates.next(size));
+
+            CandidateSet other = CandidateSet.newInstance(size);
+            other.add(1);
+            other.add(size);
+            assertTrue(candidates.intersects(other));
+            candidates.retainAll(other);
+            assertEquals(1, candidates.size());
+            assertEquals(size, candidates.first());
+            assertTrue(candidates.retain(2));
+            assertTrue(candidates.isEmpty());
+        }
+    }
+
+    @Test
+    public void testDancingLinksSolver() {
+        SudokuGrid unsolved = SudokuGrid.newInstance(
+                new Integer[][] {
+                        {8, 0, 0, 0, 0, 0, 0, 0, 0},
+                        {0, 0, 3, 6, 0, 0, 0, 0, 0},
+                        {0, 7, 0, 0, 9, 0, 2, 0, 0},
+                        {0, 5, 0, 0, 0, 7, 0, 0, 0},
+                        {0, 0, 0, 0, 4, 5, 7, 0, 0},
+                        {0, 0, 0, 1, 0, 0, 0, 3, 0},
+                        {0, 0, 1, 0, 0, 0, 0, 6, 8},
+                        {0, 0, 8, 5, 0, 0, 0, 1, 0},
+                        {0, 9, 0, 0, 0, 0, 4, 0, 0}
+                }
+        );
+        unsolved.setSolver(new DancingLinksSolver());
+        SudokuGrid solved = unsolved.solve();
+
+        assertEquals(SudokuGrid.newInstance(
+                new Integer[][] {
+                        {8, 1, 2, 7, 5, 3, 6, 4, 9},
+                        {9, 4, 3, 6, 8, 2, 1, 7, 5},
+                        {6, 7, 5, 4, 9, 1, 2, 8, 3},
+                        {1, 5, 4, 2, 3, 7, 8, 9, 6},
+                        {3, 6, 9, 8, 4, 5, 7, 2, 1},
+                        {2, 8, 7, 1, 6, 9, 5, 3, 4},
+                        {5, 2, 1, 9, 7, 4, 3, 6, 8},
+                        {4, 3, 8, 5, 2, 6, 9, 1, 7},
+                        {7, 9, 6, 3, 1, 8, 4, 5, 2}
+                }
+        ), solved);
+        assertEquals(1, new DancingLinksSolver().countSolutions(unsolved, 10).getCount());
+        assertEquals(10, new DancingLinksSolver().countSolutions(new SudokuGrid(9), 10).getCount());
+
+        DancingLinksSolver sharedSolver = new DancingLinksSolver();
+        List<SudokuGrid> puzzles = new ArrayList<>();
+        for (int index = 0; index < 16; index++) {
+            SudokuGrid puzzle = unsolved.copy();
+            puzzle.setSolver(sharedSolver);
+            puzzles.add(puzzle);
+        }
+        try (SudokuBatchSolver batchSolver = new SudokuBatchSolver(4)) {
+            for (SudokuBatchSolver.Result result : batchSolver.solveAll(puzzles)) {
+                assertEquals(solved, result.getSolution());
+            }
+        }
+    }
+
+    @Test
+    public void testSolveInPlace() {
+        SudokuGrid unsolved = SudokuGrid.newInstance(
+                new Integer[][] {
+                        {0, 0, 0, 0, 0, 0, 0, 1, 2},
+                        {0, 0, 0, 0, 3, 5, 0, 0, 0},
+                        {0, 0, 0, 6, 0, 0, 0, 7, 0},
+                        {7, 0, 0, 0, 0, 0, 3, 0, 0},
+                        {0, 0, 0, 4, 0, 0, 8, 0, 0},
+                        {1, 0, 0, 0, 0, 0, 0, 0, 0},
+                        {0, 0, 0, 1, 2, 0, 0, 0, 0},
+                        {0, 8, 0, 0, 0, 0, 0, 4, 0},
+                        {0, 5, 0, 0, 0, 0, 6, 0, 0}
+                }
+        );
+        unsolved.setSolver(new SudokuSolverImpl(SudokuSolverImpl.SearchMode.IN_PLACE));
+        SudokuGrid solved = unsolved.solve();
+
+        unsolved.setSolver(new DancingLinksSolver());
+        assertEquals(unsolved.solve(), solved);
+    }
+
+    @Test(expected = MultipleSolutionsException.class)
+    public void testSolveInPlaceMultipleSolutions() {
+        SudokuGrid unsolved = SudokuGrid.newInstance(
+                new Integer[][] {
+                        {1, 2, 0, 0},
+                        {3, 4, 0, 0},
+                        {2, 1, 0, 0},
+                        {4, 3, 0, 0}
+                }
+        );
+        unsolved.setSolver(new SudokuSolverImpl(SudokuSolverImpl.SearchMode.IN_PLACE));
+        unsolved.solve();
+    }
+
+    @Test
+    public void testSolveInParallel() {
+        SudokuGrid unsolved = SudokuGrid.newInstance(
+                new Integer[][] {
+                        {4, 0, 0, 0, 0, 0, 8, 0, 5},
+                        {0, 3, 0, 0, 0, 0, 0, 0, 0},
+                        {0, 0, 0, 7, 0, 0, 0, 0, 0},
+                        {0, 2, 0, 0, 0, 0, 0, 6, 0},
+                        {0, 0, 0, 0, 8, 0, 4, 0, 0},
+                        {0, 0, 0, 0, 1, 0, 0, 0, 0},
+                        {0, 0, 0, 6, 0, 3, 0, 7, 0},
+                        {5, 0, 0, 2, 0, 0, 0, 0, 0},
+                        {1, 0, 4, 0, 0, 0, 0, 0, 0}
+                }
+        );
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            SudokuSolverImpl solver = new SudokuSolverImpl(SudokuSolverImpl.SearchMode.PARALLEL);
+            solver.setForkJoinPool(forkJoinPool);
+            solver.setParallelDepth(2);
+            unsolved.setSolver(solver);
+            SudokuGrid solved = unsolved.solve();
+
+            unsolved.setSolver(new DancingLinksSolver());
+            assertEquals(unsolved.solve(), solved);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testBatchSolve() {
+        SudokuGrid solvable = SudokuGrid.newInstance(
+                new Integer[][] {
+                        {null, 2, 3, 4},
+                        {4, 3, null, 1},
+                        {3, null, 4, 2},
+                        {2, 4, 1, null}
+                }
+        );
+        SudokuGrid unsolvable = SudokuGrid.newInstance(
+                new Integer[][] {
+                        {1, null, null, null},
+                        {2, null, null, null},
+                        {null, 3, null, null},
+                        {4, null, null, null}
+                }
+        );
+
+        try (SudokuBatchSolver batchSolver = new SudokuBatchSolver(2)) {
+            List<SudokuBatchSolver.Result> results = batchSolver.solveAll(
+                    Arrays.asList(solvable, unsolvable, solvable, unsolvable, solvable));
+
+            assertEquals(5, results.size());
+            for (int index = 0; index < results.size(); index++) {
+                SudokuBatchSolver.Result result = results.get(index);
+                assertEquals(index, result.getIndex());
+                assertEquals(index % 2 == 0 ? SolveStatus.SOLVED : SolveStatus.UNSOLVABLE, result.getStatus());
+            }
+            assertEquals(solvable.solve(), results.get(0).getSolution());
+        }
+    }
+
+    @Test
+    public void testBatchSolveParallelismLimit() {
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+        SudokuSolver sleepingSolver = new SudokuSolver() {
+            @Override
+            public SudokuGrid solve(SudokuGrid sudokuGrid) {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                active.decrementAndGet();
+                return new DancingLinksSolver().solve(sudokuGrid);
+            }
+        };
+        List<SudokuGrid> puzzles = new ArrayList<>();
+        for (int index = 0; index < 12; index++) {
+            SudokuGrid puzzle = SudokuFormat.parse(".23443.13.42241.");
+            puzzle.setSolver(sleepingSolver);
+            puzzles.add(puzzle);
+        }
+
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        try (SudokuBatchSolver batchSolver = new SudokuBatchSolver(executorService, 2)) {
+            for (SudokuBatchSolver.Result result : batchSolver.solveAll(puzzles)) {
+                assertTrue(result.solved());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertTrue(maxActive.get() <= 2);
+    }
+
+    @Test
+    public void testReadAndWritePuzzleFiles() throws IOException {
+        StringBuilder sixteen = new StringBuilder();
+        for (int cell = 0; cell < 256; cell++) {
+            sixteen.append(cell % 17 == 0 ? SudokuFormat.SYMBOLS.charAt(cell % 16) : '.');
+        }
+        List<SudokuGrid> puzzles = Arrays.asList(
+                SudokuFormat.parse("1.3.......................................................................0......"),
+                SudokuFormat.parse(".234431.3.422413"),
+                SudokuFormat.parse(sixteen)
+        );
+        assertEquals(new Integer(16), puzzles.get(2).get(15, 15).getValue());
+
+        Path path = temporaryFolder.newFile("puzzles.txt").toPath();
+        try (SudokuFileWriter writer = new SudokuFileWriter(path, 512)) {
+            for (SudokuGrid puzzle : puzzles) {
+                writer.write(puzzle);
+            }
+        }
+        assertEquals(SudokuFormat.format(puzzles.get(1)) + "\n",
+                new String(Files.readAllBytes(path), StandardCharsets.US_ASCII).split("(?<=\n)")[1]);
+
+        List<SudokuGrid> read = new ArrayList<>();
+        try (SudokuFileReader reader = new SudokuFileReader(path, 300)) {
+            for (SudokuGrid sudokuGrid : reader) {
+                read.add(sudokuGrid);
+            }
+        }
+        assertEquals(puzzles, read);
+    }
+
+    @Test
+    public void testCompactGrid() {
+        SudokuGrid sudokuGrid = SudokuGrid.newInstance(
+                new Integer[][] {
+                        {null, 2, 3, 4},
+                        {4, 3, null, 1},
+                        {3, null, 4, 2},
+                        {2, 4, 1, null}
+                }
+        );
+        CompactSudokuGrid compactGrid = CompactSudokuGrid.of(sudokuGrid);
+        assertEquals(12, compactGrid.getGivenCount());
+        assertEquals(3, compactGrid.get(1, 1));
+        assertTrue(compactGrid.isEmpty(0));
+        assertEquals(sudokuGrid, compactGrid.toSudokuGrid());
+        assertTrue(compactGrid.toSudokuGrid().isValid());
+
+        CompactSudokuGrid copy = compactGrid.copy();
+        copy.set(0, 1);
+        assertFalse(copy.isGiven(0));
+        assertNotEquals(compactGrid, copy);
+        assertTrue(copy.isConsistent());
+        copy.set(6, 1);
+        assertFalse(copy.isConsistent());
+        assertEquals(new int[] {2, 3, 6, 7}.length, compactGrid.getTopology().getRegionCells(1).length);
+        assertTrue(Arrays.equals(new int[] {2, 3, 6, 7}, compactGrid.getTopology().getRegionCells(1)));
+    }
+
+    @Test
+    public void testConflictTracking() {
+        SudokuGrid sudokuGrid = SudokuGrid.newInstance(
+                new Integer[][] {
+                        {1, 2, 3, 4},
+                        {3, 4, 1, 2},
+                        {2, 1, 4, 3},
+                        {4, 3, null, null}
+                }
+        );
+        assertTrue(sudokuGrid.isValid());
+
+        Grid.Item<Integer> item = sudokuGrid.get(3, 2);
+        item.setValue(2);
+        assertTrue(sudokuGrid.isValid());
+        item.setValue(1);
+        assertFalse(sudokuGrid.isValid());
+        assertEquals(new HashSet<>(Arrays.asList(new Position(3, 2), new Position(1, 2))),
+                sudokuGrid.getConflictingPositions());
+
+        Position position = new Position(3, 2);
+        sudokuGrid.put(position, new SudokuGrid.GivenItem(2, position));
+        assertTrue(sudokuGrid.isValid());
+        assertTrue(sudokuGrid.getConflictingPositions().isEmpty());
+        item.setValue(4);
+        assertTrue(sudokuGrid.isValid());
+    }
+
+    @Test
+    public void testCountSolutions() {
+        SudokuGrid fourSolutions = SudokuGrid.newInstance(
+                new Integer[][] {
+                        {1, 2, 0, 0},
+                        {3, 4, 0, 0},
+                        {2, 1, 0, 0},
+                        {4, 3, 0, 0}
+                }
+        );
+        SolutionCount solutionCount = fourSolutions.countSolutions(10, 10);
+        assertEquals(4, solutionCount.getCount());
+        assertFalse(solutionCount.isLimitReached());
+        assertEquals(4, new HashSet<>(solutionCount.getSolutions()).size());
+        assertTrue(solutionCount.getSolutions().get(0).solved());
+        assertFalse(fourSolutions.isUnique());
+
+        SudokuGrid empty = new SudokuGrid(4);
+        assertEquals(288, empty.countSolutions(1000).getCount());
+        solutionCount = empty.countSolutions(5, 3);
+        assertEquals(5, solutionCount.getCount());
+        assertTrue(solutionCount.isLimitReached());
+        assertEquals(3, solutionCount.getSolutions().size());
+
+        empty.setSolver(new SudokuSolverImpl(SudokuSolverImpl.SearchMode.PARALLEL));
+        assertEquals(288, empty.countSolutions(1000).getCount());
+        empty.setSolver(new DancingLinksSolver());
+        assertEquals(288, empty.countSolutions(1000).getCount());
+
+        SudokuGrid unsolvable = SudokuGrid.newInstance(
+                new Integer[][] {
+                        {1, 2, 0, 0},
+                        {0, 0, 0, 3},
+                        {0, 0, 0, 4},
+                        {0, 0, 0, 0}
+                }
+        );
+        assertFalse(unsolvable.countSolutions(2).hasSolution());
+
+        SudokuGrid unique = SudokuGrid.newInstance(
+                new Integer[][] {
+                        {1, 2, 3, 4},
+                        {3, 4, 1, 2},
+                        {2, 1, 4, 3},
+                        {4, 3, null, null}
+                }
+        );
+        assertTrue(unique.isUnique());
+    }
+
+    @Test
+    public void testBranchingStrategies() {
+        SudokuGrid unsolved = SudokuFormat.parse(
+                "800000000003600000070090200050007000000045700000100030001000068008500010090000400");
+        SudokuGrid solved = SudokuFormat.parse(
+                "812753649943682175675491283154237896369845721287169534521974368438526917796318452");
+
+        List<BranchingStrategy> strategies = new ArrayList<>();
+        strategies.add(new RowMajorBranchingStrategy());
+        MinimumRemainingValuesStrategy minimumRemainingValues = new MinimumRemainingValuesStrategy();
+        minimumRemainingValues.setDegreeTieBreaking(false);
+        strategies.add(minimumRemainingValues);
+        strategies.add(new MinimumRemainingValuesStrategy());
+        strategies.add(new LeastConstrainingValueStrategy());
+        for (BranchingStrategy strategy : strategies) {
+            SudokuSolverImpl solver = new SudokuSolverImpl(SudokuSolverImpl.SearchMode.IN_PLACE);
+            solver.setBranchingStrategy(strategy);
+            unsolved.setSolver(solver);
+            assertEquals(solved, unsolved.solve());
+        }
+    }
+
+    @Test
+    public void testConstraintPropagation() {
+        SudokuGrid sudokuGrid = SudokuFormat.parse(
+                "003020600900305001001806400008102900700000008006708200002609500800203009005010300");
+        assertTrue(new ConstraintPropagator(sudokuGrid, null).initialize());
+        assertTrue(sudokuGrid.solved());
+        assertEquals(SudokuFormat.parse(
+                "483921657967345821251876493548132976729564138136798245372689514814253769695417382"), sudokuGrid);
+
+        SudokuGrid contradiction = SudokuGrid.newInstance(
+                new Integer[][] {
+                        {1, 2, 0, 0},
+                        {0, 0, 0, 3},
+                        {0, 0, 0, 4},
+                        {0, 0, 0, 0}
+                }
+        );
+        CandidateTrail trail = new CandidateTrail(64);
+        ConstraintPropagator propagator = new ConstraintPropagator(contradiction, trail);
+        assertFalse(propagator.initialize());
+        assertNotNull(propagator.getContradiction());
+        trail.undo(0);
+        assertEquals(4, ((SudokuGrid.VariableItem) contradiction.get(1, 0)).getCandidates().size());
+
+        assertEquals(20, SudokuTopology.forSize(9).getPeers(0).length);
+        assertEquals(4, SudokuTopology.forSize(3).getPeers(4).length);
+    }
+
+    @Test
+    public void testDeductionRules() {
+        String[] puzzles = {
+                "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......",
+                "1.....569492.561.8.561.924...964.8.1.64.1....218.356.4.4.5...169.5.614.2621.....5",
+                "9..24.....5.69.231.2..5..9..9.7..32...29356.7.7...29...69.2..7351..79.622.7.86..9"
+        };
+        String[] techniques = {"Locked Candidates", "X-Wing", "XY-Wing"};
+        for (int index = 0; index < puzzles.length; index++) {
+            SudokuGrid singles = SudokuFormat.parse(puzzles[index]);
+            assertTrue(new ConstraintPropagator(singles, null).initialize());
+            assertFalse(singles.solved());
+
+            SudokuGrid sudokuGrid = SudokuFormat.parse(puzzles[index]);
+            ConstraintPropagator propagator = new ConstraintPropagator(sudokuGrid, null);
+            propagator.setDeductionRules(DeductionRules.all());
+            assertTrue(propagator.initialize());
+            assertTrue(sudokuGrid.solved());
+            assertEquals(techniques[index], propagator.getHardestRule().getName());
+            assertEquals(new DancingLinksSolver().solve(SudokuFormat.parse(puzzles[index])), sudokuGrid);
+        }
+
+        SudokuSolverImpl solver = new SudokuSolverImpl(SudokuSolverImpl.SearchMode.IN_PLACE);
+        solver.setDeductionRules(DeductionRules.all());
+        SudokuGrid hardest = SudokuFormat.parse(
+                "800000000003600000070090200050007000000045700000100030001000068008500010090000400");
+        hardest.setSolver(solver);
+        assertTrue(hardest.isUnique());
+    }
+
+    @Test
+    public void testSolutionGridGenerator() {
+        SudokuGrid generated = new SolutionGridGenerator(9, new Random(42)).generate();
+        assertEquals(generated, new SolutionGridGenerator(9, new Random(42)).generate());
+        assertTrue(CompactSudokuGrid.of(generated).isComplete());
+        assertFalse(generated.hasConflicts());
+
+        SudokuGrid large = new SolutionGridGenerator(16, new Random(7)).generate();
+        assertTrue(CompactSudokuGrid.of(large).isComplete());
+        assertFalse(large.hasConflicts());
+
+        for (int size : new int[] {6, 9, 16}) {
+            SudokuGrid pattern = new SolutionGridGenerator(size, new Random(size)).generateFromPattern();
+            assertTrue(CompactSudokuGrid.of(pattern).isComplete());
+            assertFalse(pattern.hasConflicts());
+        }
+    }
+
+    @Test
+    public void testPuzzleDigger() {
+        SudokuGrid solution = new SolutionGridGenerator(9, new Random(3)).generate();
+
+        PuzzleDigger puzzleDigger = new PuzzleDigger(new Random(3));
+        puzzleDigger.setSymmetry(PuzzleDigger.Symmetry.ROTATIONAL);
+        SudokuGrid puzzle = puzzleDigger.dig(solution);
+        assertTrue(puzzle.isUnique());
+        assertEquals(solution, puzzle.solve());
+        for (int row = 0; row < 9; row++) {
+            for (int column = 0; column < 9; column++) {
+                assertEquals(puzzle.get(row, column).getValue() == null,
+                        puzzle.get(8 - row, 8 - column).getValue() == null);
+            }
+        }
+
+        puzzleDigger.setSymmetry(PuzzleDigger.Symmetry.NONE);
+        puzzleDigger.setTargetClueCount(40);
+        puzzle = puzzleDigger.dig(solution);
+        assertEquals(40, CompactSudokuGrid.of(puzzle).getGivenCount());
+        assertTrue(puzzle.isUnique());
+    }
+
+    @Test
+    public void testGeneratedSizeFourPuzzlesSolve() {
+        try (PuzzlePool puzzlePool = new PuzzlePool(new DiggingPuzzleGenerator(new Random(7)))) {
+            for (Difficulty difficulty : Difficulty.values()) {
+                for (int attempt = 0; attempt < 5; attempt++) {
+                    SudokuGrid puzzle = puzzlePool.take(4, difficulty);
+                    assertTrue(puzzle.isValid());
+                    assertTrue(puzzle.isUnique());
+                    assertEquals(SolveStatus.SOLVED, puzzle.solve(new SolveOptions()).getStatus());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPuzzlePool() throws IOException, InterruptedException {
+        Path directory = temporaryFolder.newFolder().toPath();
+        try (PuzzlePool puzzlePool = new PuzzlePool(new DiggingPuzzleGenerator(new Random(5)))) {
+            puzzlePool.setCapacity(4);
+            puzzlePool.setLowWaterMark(1);
+
+            assertEquals(null, puzzlePool.poll(4, Difficulty.EXPERT));
+            assertEquals(1, puzzlePool.getMissCount());
+            for (int attempt = 0; attempt < 500 && puzzlePool.getAvailable(4, Difficulty.EXPERT) < 4; attempt++) {
+                Thread.sleep(10);
+            }
+            assertEquals(4, puzzlePool.getAvailable(4, Difficulty.EXPERT));
+
+            SudokuGrid puzzle = puzzlePool.take(4, Difficulty.EXPERT);
+            assertTrue(puzzle.isUnique());
+            assertEquals(1, puzzlePool.getHitCount());
+            assertEquals(0.5, puzzlePool.getHitRate(), 0);
+            puzzlePool.save(directory);
+        }
+
+        try (PuzzlePool puzzlePool = new PuzzlePool(new DiggingPuzzleGenerator(new Random(5)))) {
+            puzzlePool.setLowWaterMark(0);
+            assertEquals(3, puzzlePool.load(directory));
+            assertTrue(puzzlePool.take(4, Difficulty.EXPERT).isUnique());
+            assertEquals(1, puzzlePool.getHitCount());
+        }
+    }
+
+    @Test
+    public void testCanonicalSolutionCache() {
+        SudokuGrid puzzle = new PuzzleDigger(new Random(7)).dig(new SolutionGridGenerator(9, new Random(7)).generate());
+        Integer[][] squareGrid = new Integer[9][9];
+        for (int row = 0; row < 9; row++) {
+            for (int column = 0; column < 9; column++) {
+                Integer value = puzzle.get((column + 3) % 9, 2 - row % 3 + row / 3 * 3).getValue();
+                squareGrid[row][column] = value == null ? null : 10 - value;
+            }
+        }
+        SudokuGrid equivalent = SudokuGrid.newInstance(squareGrid);
+
+        SudokuCanonicalizer canonicalizer = new SudokuCanonicalizer();
+        CanonicalForm canonicalForm = canonicalizer.canonicalize(puzzle);
+        assertEquals(canonicalForm.getKey(), canonicalizer.canonicalize(equivalent).getKey());
+        assertEquals(canonicalForm.getKey(), SudokuFormat.format(canonicalForm.getTransform().apply(puzzle)));
+        assertEquals(puzzle, canonicalForm.getTransform().revert(canonicalForm.getTransform().apply(puzzle)));
+
+        CachingSudokuSolver cachingSudokuSolver = new CachingSudokuSolver();
+        cachingSudokuSolver.solve(puzzle.copy());
+        assertEquals(0, cachingSudokuSolver.getSolutionCache().getHitCount());
+        SudokuGrid solution = cachingSudokuSolver.solve(equivalent.copy());
+        assertEquals(1, cachingSudokuSolver.getSolutionCache().getHitCount());
+        assertTrue(solution.solved());
+        assertEquals(new DancingLinksSolver().solve(equivalent.copy()), solution);
+        int cacheSize = cachingSudokuSolver.getSolutionCache().size();
+        cachingSudokuSolver.setCanonicalizer(null);
+        assertEquals(solution, cachingSudokuSolver.solve(equivalent.copy()));
+        assertEquals(2, cachingSudokuSolver.getSolutionCache().getHitCount());
+        assertEquals(cacheSize, cachingSudokuSolver.getSolutionCache().size());
+
+        canonicalizer.setMaxNodes(1);
+        assertNull(canonicalizer.canonicalize(puzzle));
+    }
+
+    @Test
+    public void testCachingSolverForwardsOptionsAndStats() {
+        SudokuGrid puzzle = SudokuFormat.parse("8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..");
+        CachingSudokuSolver cachingSudokuSolver = new CachingSudokuSolver(new SudokuSolverImpl());
+        SolveOptions solveOptions = new SolveOptions();
+        solveOptions.setMaxNodes(2);
+        assertEquals(SolveStatus.BUDGET_EXCEEDED, cachingSudokuSolver.solve(puzzle.copy(), solveOptions).getStatus());
+        assertEquals(0, cachingSudokuSolver.getSolutionCache().size());
+
+        SolveStats solveStats = new SolveStats();
+        assertTrue(cachingSudokuSolver.solve(puzzle.copy(), solveStats).solved());
+        assertTrue(solveStats.getNodeCount() > 0);
+        assertEquals(2, cachingSudokuSolver.getSolutionCache().size());
+
+        assertEquals(SolveStatus.SOLVED, cachingSudokuSolver.solve(puzzle.copy(), solveOptions).getStatus());
+        assertEquals(1, cachingSudokuSolver.getSolutionCache().getHitCount());
+        cachingSudokuSolver.solve(puzzle.copy(), solveStats);
+        assertEquals(2, solveStats.getSolveCount());
+
+        CancellationToken cancellationToken = new CancellationToken();
+        cancellationToken.cancel();
+        solveOptions.setCancellationToken(cancellationToken);
+        assertEquals(SolveStatus.CANCELLED, cachingSudokuSolver.solve(puzzle.copy(), solveOptions).getStatus());
+        assertEquals(2, cachingSudokuSolver.getSolutionCache().getHitCount());
+    }
+
+    @Test
+    public void testSolveStatsAggregation() throws InterruptedException {
+        SudokuGrid puzzle = SudokuFormat.parse("8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..");
+        assertTrue(new DancingLinksSolver().solve(puzzle.copy(), (SolveStats) null).solved());
+
+        final SolveStats first = new SolveStats();
+        final SolveStats second = new SolveStats();
+        first.recordNode(1);
+        second.recordNode(1);
+        Thread forward = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int index = 0; index < 20; index++) {
+                    first.add(second);
+                }
+            }
+        });
+        Thread backward = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int index = 0; index < 20; index++) {
+                    second.add(first);
+                }
+            }
+        });
+        forward.setDaemon(true);
+        backward.setDaemon(true);
+        forward.start();
+        backward.start();
+        forward.join(10000);
+        backward.join(10000);
+        assertFalse(forward.isAlive() || backward.isAlive());
+        assertTrue(first.getNodeCount() > 1);
+        assertTrue(second.getNodeCount() > 1);
+    }
+
+    @Test
+    public void testSolveStats() {
+        SudokuGrid puzzle = SudokuFormat.parse("8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..");
+        final int[] guesses = new int[1];
+        final int[] finished = new int[1];
+        SudokuSolverImpl sudokuSolver = new SudokuSolverImpl(SudokuSolverImpl.SearchMode.IN_PLACE);
+        sudokuSolver.setDeductionRules(DeductionRules.basic());
+        sudokuSolver.addSolverListener(new SolverListener() {
+            @Override
+            public void guessed(Position position, int value, int depth) {
+                guesses[0]++;
+            }
+
+            @Override
+            public void solveFinished(SudokuGrid sudokuGrid, SolveStats solveStats) {
+                finished[0]++;
+            }
+        });
+
+        SolveStats solveStats = new SolveStats();
+        assertTrue(sudokuSolver.solve(puzzle.copy(), solveStats).solved());
+        assertEquals(1, solveStats.getSolveCount());
+        assertEquals(guesses[0], solveStats.getGuessCount());
+        assertEquals(1, finished[0]);
+        assertTrue(solveStats.getNodeCount() > 1);
+        assertTrue(solveStats.getBacktrackCount() > 0);
+        assertTrue(solveStats.getMaxDepth() > 0);
+        assertTrue(solveStats.getPropagationCount() > 0);
+        assertTrue(solveStats.getDeductionCount(SolveStats.NAKED_SINGLE) > 0);
+        assertTrue(solveStats.getWallTimeNanos() > 0);
+
+        long nodes = solveStats.getNodeCount();
+        sudokuSolver.solve(puzzle.copy(), solveStats);
+        assertEquals(2, solveStats.getSolveCount());
+        assertEquals(2 * nodes, solveStats.getNodeCount());
+
+        SolveStats parallelStats = new SolveStats();
+        assertTrue(new SudokuSolverImpl(SudokuSolverImpl.SearchMode.PARALLEL).solve(puzzle.copy(), parallelStats).solved());
+        assertTrue(parallelStats.getNodeCount() > 1);
+
+        SolveStats copyStats = new SolveStats();
+        assertTrue(new DancingLinksSolver().solve(puzzle.copy(), copyStats).solved());
+        assertEquals(1, copyStats.getSolveCount());
+    }
+
+    @Test
+    public void testSolveLimits() {
+        SudokuGrid puzzle = SudokuFormat.parse("8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..");
+        for (SudokuSolverImpl.SearchMode searchMode : SudokuSolverImpl.SearchMode.values()) {
+            SudokuSolverImpl sudokuSolver = new SudokuSolverImpl(searchMode);
+
+            SolveOptions solveOptions = new SolveOptions();
+            solveOptions.setMaxNodes(3);
+            SolveResult result = sudokuSolver.solve(puzzle.copy(), solveOptions);
+            assertEquals(searchMode.name(), SolveStatus.BUDGET_EXCEEDED, result.getStatus());
+            assertEquals(null, result.getSolution());
+            assertFalse(result.getGrid().hasConflicts());
+            assertEquals(puzzle.get(0, 0).getValue(), result.getGrid().get(0, 0).getValue());
+
+            solveOptions = new SolveOptions();
+            solveOptions.setTimeout(0, TimeUnit.MILLISECONDS);
+            assertEquals(SolveStatus.TIMED_OUT, sudokuSolver.solve(puzzle.copy(), solveOptions).getStatus());
+
+            CancellationToken cancellationToken = new CancellationToken();
+            cancellationToken.cancel();
+            solveOptions = new SolveOptions();
+            solveOptions.setCancellationToken(cancellationToken);
+            assertEquals(SolveStatus.CANCELLED, sudokuSolver.solve(puzzle.copy(), solveOptions).getStatus());
+
+            solveOptions = new SolveOptions();
+            solveOptions.setTimeout(1, TimeUnit.MINUTES);
+            solveOptions.setMaxNodes(1000000);
+            result = sudokuSolver.solve(puzzle.copy(), solveOptions);
+            assertEquals(SolveStatus.SOLVED, result.getStatus());
+            assertTrue(result.getSolution().solved());
+        }
+
+        SolveOptions solveOptions = new SolveOptions();
+        solveOptions.setMaxNodes(1);
+        try (SudokuBatchSolver batchSolver = new SudokuBatchSolver(2)) {
+            batchSolver.setSolveOptions(solveOptions);
+            List<SudokuBatchSolver.Result> results = batchSolver.solveAll(Arrays.asList(puzzle, puzzle));
+            assertEquals(SolveStatus.BUDGET_EXCEEDED, results.get(0).getStatus());
+            assertEquals(SolveStatus.BUDGET_EXCEEDED, results.get(1).getStatus());
+        }
+    }
+
+    @Test
+    public void testGenerateAndSolveSizeFour() {
+        for (int attempt = 0; attempt < 5; attempt++) {
+            SudokuGrid puzzle = SudokuGrid.newInstance(4);
+            assertTrue(puzzle.isValid());
+            assertTrue(puzzle.isUnique());
+            assertEquals(SolveStatus.SOLVED, puzzle.solve(new SolveOptions()).getStatus());
+            assertTrue(puzzle.solve().solved());
+        }
+    }
+
+    @Test
+    public void testSizesAboveFormatMaximum() {
+        assertEquals(CompactSudokuGrid.MAX_SIZE, SudokuFormat.MAX_SIZE);
+        assertEquals(-1, SudokuFormat.sizeForLength(3 * (SudokuFormat.MAX_SIZE + 1) * (SudokuFormat.MAX_SIZE + 1)));
+
+        SudokuGrid sixtyFour = new SudokuGrid(64);
+        assertEquals(64, ((SudokuGrid.VariableItem) sixtyFour.get(0)).getCandidates().size());
+        SudokuGrid hundred = new SudokuGrid(100);
+        assertEquals(100, ((SudokuGrid.VariableItem) hundred.get(hundred.getCellCount() - 1)).getCandidates().size());
+        assertTrue(hundred.hasRegions());
+        assertTrue(((SudokuGrid.VariableItem) hundred.get(0)).getCandidates() instanceof WordArrayCandidateSet);
+
+        SudokuGrid large = new SudokuGrid(SudokuFormat.MAX_SIZE + 1);
+        assertSame(large, new SudokuBatchSolver.Result(0, large, large, SolveStatus.SOLVED, null).getSolution());
+    }
+
+    @Test
+    public void testLargeGrids() throws IOException {
+        assertSame(SudokuTopology.forSize(16), new SudokuGrid(16).getTopology());
+        assertSame(new SudokuGrid(25).getTopology(), new SudokuGrid(25).getTopology());
+
+        SolveOptions solveOptions = new SolveOptions();
+        SudokuGrid sixteen = SudokuGrid.newInstance(16);
+        assertTrue(sixteen.isUnique());
+        solveOptions.setTimeout(2, TimeUnit.SECONDS);
+        assertEquals(SolveStatus.SOLVED, sixteen.solve(solveOptions).getStatus());
+
+        SudokuGrid twentyFive = SudokuFormat.parse(
+                ".....P1D.N.2.I8..K..9.A.M2.6...OF..B....5I8AM.H..L.I.7.L........GF.NB.P..K.FGJN..4....9...6......5...ED4A89B...JC5.7..H...6O."
+                + ".6..49.K.M...N5H.F2..7O.EG.1.F...P4E.B2..O.7J.A...JKH5..C.L.A.8.4.B...I.F.9B..I.6.2.A.H.9.8EM.4....PN7..EF..J.DM.6..5.I..C..G"
+                + ".MI.7...48....HDF..BEL.6.KP.J.5..A..F4..N.7.I.B9.1.......9FD..28LEJP.37..G.E3..2.N.G.....DA.4.6H8....NB.C7.3..5E...18........"
+                + "..F.8....5I7L..G1.K2O..MBIB...N.4HG.KM.....8..2.C....H...A1B..P.6.....J..7.O.K1.3.CE.N.G..M....6..L..9GL6OI.D.C5.H...3....1.."
+                + "3..M..F7I.....CLNJ..B68.O....1..N..2..B....PDA....7..O.D.....3A4....9E....N.L..BH.E23.65P9..1O...D..DC9A...L.68.J.M.G.3.K4...");
+        solveOptions.setTimeout(5, TimeUnit.SECONDS);
+        SolveResult result = twentyFive.solve(solveOptions);
+        assertEquals(SolveStatus.SOLVED, result.getStatus());
+        assertTrue(result.getSolution().solved());
+
+        SudokuGrid thirtySix = new SolutionGridGenerator(36, new Random(36)).generateFromPattern();
+        String line = SudokuFormat.format(thirtySix);
+        assertEquals(2 * 36 * 36, line.length());
+        assertEquals(36, SudokuFormat.sizeForLength(line.length()));
+        assertEquals(thirtySix, SudokuFormat.parse(line));
+        Position corner = new Position(35, 35);
+        thirtySix.put(corner, new SudokuGrid.VariableItem(1, 36, corner));
+        assertTrue(SudokuFormat.format(thirtySix).endsWith(".."));
+
+        Path path = temporaryFolder.newFile("large.txt").toPath();
+        try (SudokuFileWriter writer = new SudokuFileWriter(path)) {
+            writer.write(twentyFive);
+            writer.write(thirtySix);
+        }
+        try (SudokuFileReader reader = new SudokuFileReader(path)) {
+            assertEquals(twentyFive, reader.read());
+            assertEquals(thirtySix, reader.read());
+            assertEquals(null, reader.read());
+        }
+    }
+
+    @Test
+    public void testCellIndexing() {
+        assertSame(Position.of(3, 7), Position.of(3, 7));
+        assertEquals(new Position(100, 2), Position.of(100, 2));
+
+        SudokuGrid sudokuGrid = SudokuFormat.parse("1.3.......................................................................9......");
+        assertEquals(81, sudokuGrid.getCellCount());
+        assertEquals(new Integer(9), sudokuGrid.get(sudokuGrid.cell(8, 2)).getValue());
+        assertSame(sudokuGrid.get(2), sudokuGrid.get(0, 2));
+        assertSame(Position.of(8, 8), sudokuGrid.getPosition(80));
+        assertSame(sudokuGrid.getPosition(40), sudokuGrid.get(40).getPosition());
+
+        sudokuGrid.put(1, new SudokuGrid.GivenItem(2, sudokuGrid.getPosition(1)));
+        assertEquals(new Integer(2), sudokuGrid.get(0, 1).getValue());
+        assertFalse(sudokuGrid.hasConflicts());
+
+        final int[] givens = new int[2];
+        sudokuGrid.forEachCell(new Grid.CellVisitor<Integer>() {
+            @Override
+            public void visit(int cell, Grid.Item<Integer> item) {
+                assertEquals(cell, item.getRowIndex() * 9 + item.getColumnIndex());
+                if (item instanceof SudokuGrid.GivenItem) {
+                    givens[0]++;
+                    givens[1] += cell;
+                }
+            }
+        });
+        assertEquals(4, givens[0]);
+        assertEquals(0 + 1 + 2 + 74, givens[1]);
+    }
+
+    @Test
+    public void testBitboardSolver() {
+        SudokuGrid unsolved = SudokuFormat.parse(
+                "800000000003600000070090200050007000000045700000100030001000068008500010090000400");
+        SudokuGrid solved = SudokuFormat.parse(
+                "812753649943682175675491283154237896369845721287169534521974368438526917796318452");
+        assertTrue(unsolved.getSolver() instanceof BitboardSolver);
+        assertFalse(new SudokuGrid(4).getSolver() instanceof BitboardSolver);
+        assertEquals(solved, unsolved.solve());
+
+        BitboardSolver bitboardSolver = new BitboardSolver();
+        SolveStats solveStats = new SolveStats();
+        assertEquals(solved, bitboardSolver.solve(unsolved.copy(), solveStats));
+        assertTrue(solveStats.getGuessCount() > 0);
+        assertEquals(1, solveStats.getSolveCount());
+
+        SudokuGrid ambiguous = SudokuFormat.parse(
+                "..3.......................................................................9......");
+        SolutionCount solutionCount = bitboardSolver.countSolutions(ambiguous, 3, 2);
+        assertEquals(3, solutionCount.getCount());
+        assertEquals(2, solutionCount.getSolutions().size());
+        SolveOptions solveOptions = new SolveOptions();
+        assertEquals(SolveStatus.MULTIPLE_SOLUTIONS, bitboardSolver.solve(ambiguous.copy(), solveOptions).getStatus());
+        SudokuGrid contradictory = SudokuFormat.parse(
+                "11...............................................................................");
+        assertEquals(SolveStatus.UNSOLVABLE, bitboardSolver.solve(contradictory, solveOptions).getStatus());
+        assertEquals(0, bitboardSolver.countSolutions(contradictory, 2).getCount());
+
+        solveOptions.setMaxNodes(1);
+        assertEquals(SolveStatus.BUDGET_EXCEEDED, bitboardSolver.solve(unsolved.copy(), solveOptions).getStatus());
+        solveOptions.setMaxNodes(0);
+        assertEquals(SolveStatus.SOLVED, bitboardSolver.solve(unsolved.copy(), solveOptions).getStatus());
+
+        bitboardSolver.setFallback(new DancingLinksSolver());
+        SudokuGrid small = SudokuFormat.parse(".23443.13.42241.");
+        assertEquals(SudokuFormat.parse("1234432131422413"), bitboardSolver.countSolutions(small, 2, 1).getSolutions().get(0));
+    }
+
+    @Test
+    public void testCdclSolver() {
+        SatSolver satSolver = new SatSolver(3);
+        satSolver.addAtMostOne(0, 1, 2);
+        satSolver.addClause(SatSolver.literal(0, true), SatSolver.literal(1, true));
+        satSolver.addClause(SatSolver.literal(1, false), SatSolver.literal(2, true));
+        assertEquals(SolveStatus.SOLVED, satSolver.solve());
+        assertTrue(satSolver.value(0));
+        assertFalse(satSolver.value(1));
+        satSolver.addClause(SatSolver.literal(0, false));
+        assertEquals(SolveStatus.UNSOLVABLE, satSolver.solve());
+
+        SudokuGrid unsolved = SudokuFormat.parse(
+                "800000000003600000070090200050007000000045700000100030001000068008500010090000400");
+        SudokuGrid solved = SudokuFormat.parse(
+                "812753649943682175675491283154237896369845721287169534521974368438526917796318452");
+        CdclSolver cdclSolver = new CdclSolver();
+        SolveStats solveStats = new SolveStats();
+        assertEquals(solved, cdclSolver.solve(unsolved.copy(), solveStats));
+        assertTrue(solveStats.getBacktrackCount() > 0);
+
+        SudokuGrid ambiguous = SudokuFormat.parse(
+                "..3.......................................................................9......");
+        SolutionCount solutionCount = cdclSolver.countSolutions(ambiguous, 5, 5);
+        assertEquals(5, solutionCount.getCount());
+        assertEquals(5, new HashSet<>(solutionCount.getSolutions()).size());
+        SolveOptions solveOptions = new SolveOptions();
+        assertEquals(SolveStatus.MULTIPLE_SOLUTIONS, cdclSolver.solve(ambiguous.copy(), solveOptions).getStatus());
+        assertEquals(SolveStatus.UNSOLVABLE, cdclSolver.solve(SudokuFormat.parse(
+                "11..............................................................................."), solveOptions).getStatus());
+        solveOptions.setMaxNodes(1);
+        assertEquals(SolveStatus.BUDGET_EXCEEDED, cdclSolver.solve(unsolved.copy(), solveOptions).getStatus());
+
+        SudokuGrid sixteen = SudokuGrid.newInstance(16);
+        assertTrue(sixteen.getSolver() instanceof CdclSolver);
+        assertEquals(new DancingLinksSolver().solve(sixteen.copy()), cdclSolver.solve(sixteen.copy()));
+    }
+
+    @Test
+    public void testSolveResult() {
+        SudokuGrid unsolvable = SudokuGrid.newInstance(
+                new Integer[][] {
+                        {1, null, null, null},
+                        {2, null, null, null},
+                        {null, 3, null, null},
+                        {4, null, null, null}
+                }
+        );
+        SudokuSolverImpl solver = new SudokuSolverImpl(SudokuSolverImpl.SearchMode.COPY);
+        SolveOptions solveOptions = new SolveOptions();
+
+        SolveResult result = solver.solve(unsolvable.copy(), solveOptions);
+        assertEquals(SolveStatus.UNSOLVABLE, result.getStatus());
+        assertEquals(null, result.getSolution());
+        assertNotNull(result.getContradiction());
+        SudokuGrid diagnosticGrid = result.getDiagnosticGrid();
+        assertNotNull(diagnosticGrid);
+        assertSame(diagnosticGrid, result.getDiagnosticGrid());
+        assertEquals(Integer.valueOf(3), diagnosticGrid.get(2, 1).getValue());
+
+        SudokuGrid ambiguous = SudokuFormat.parse(
+                "..3.......................................................................9......");
+        result = solver.solve(ambiguous.copy(), solveOptions);
+        assertEquals(SolveStatus.MULTIPLE_SOLUTIONS, result.getStatus());
+        assertEquals(null, result.getContradiction());
+
+        SudokuGrid unsolved = SudokuFormat.parse(
+                "800000000003600000070090200050007000000045700000100030001000068008500010090000400");
+        result = solver.solve(unsolved.copy(), solveOptions);
+        assertTrue(result.solved());
+        assertTrue(result.getSolution().solved());
+        assertEquals(null, result.getDiagnosticGrid());
+
+        UnsolvableSudokuException unsolvableException = null;
+        try {
+            solver.solve(unsolvable.copy());
+        } catch (UnsolvableSudokuException e) {
+            unsolvableException = e;
+        }
+        assertNotNull(unsolvableException);
+        assertEquals(0, unsolvableException.getStackTrace().length);
+        MultipleSolutionsException multipleSolutionsException = null;
+        try {
+            solver.solve(ambiguous.copy());
+        } catch (MultipleSolutionsException e) {
+            multipleSolutionsException = e;
+        }
+        assertNotNull(multipleSolutionsException);
+        assertEquals(0, multipleSolutionsException.getStackTrace().length);
+        assertEquals(2, multipleSolutionsException.getSolutions().size());
+    }
+
+    @Test
+    public void testAsyncSolveAndGenerate() throws Exception {
+        SudokuGrid unsolved = SudokuFormat.parse(
+                "800000000003600000070090200050007000000045700000100030001000068008500010090000400");
+        SudokuGrid solved = SudokuFormat.parse(
+                "812753649943682175675491283154237896369845721287169534521974368438526917796318452");
+        SolveResult result = unsolved.solveAsync().get(10, TimeUnit.SECONDS);
+        assertTrue(result.solved());
+        assertEquals(solved, result.getSolution());
+
+        SudokuGrid generated = SudokuGrid.newInstanceAsync().get(30, TimeUnit.SECONDS);
+        assertTrue(generated.isUnique());
+
+        SolveOptions solveOptions = new SolveOptions();
+        CancellationToken cancellationToken = new CancellationToken();
+        solveOptions.setCancellationToken(cancellationToken);
+        cancellationToken.cancel();
+        assertEquals(SolveStatus.CANCELLED, unsolved.solveAsync(solveOptions).get(10, TimeUnit.SECONDS).getStatus());
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch stopped = new CountDownLatch(1);
+        SudokuGrid blocking = unsolved.copy();
+        blocking.setSolver(new SudokuSolver() {
+            @Override
+            public SudokuGrid solve(SudokuGrid sudokuGrid) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public SolveResult solve(SudokuGrid sudokuGrid, SolveOptions solveOptions) {
+                started.countDown();
+                while (!solveOptions.isCancelled()) {
+                    Thread.yield();
+                }
+                stopped.countDown();
+                return new SolveResult(SolveStatus.CANCELLED, sudokuGrid);
+            }
+        });
+        SolveOptions blockingOptions = new SolveOptions();
+        CancellationToken blockingToken = new CancellationToken();
+        blockingOptions.setCancellationToken(blockingToken);
+        CompletableFuture<SolveResult> future = blocking.solveAsync(blockingOptions);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertTrue(future.cancel(true));
+        assertTrue(stopped.await(10, TimeUnit.SECONDS));
+        assertTrue(future.isCancelled());
+        assertFalse(blockingToken.isCancelled());
+    }
+}